@@ -0,0 +1,24 @@
+package com.oms.auth.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Local caching for user lookups
+ * Hibernate's second-level cache and the Spring cache share one Ehcache manager (ehcache.xml),
+ * so all regions are configured and sized in one place.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager cacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
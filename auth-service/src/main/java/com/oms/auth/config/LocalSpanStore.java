@@ -0,0 +1,120 @@
+package com.oms.auth.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-process span exporter: keeps the most recent finished spans in memory, no collector needed
+ *
+ * GET /actuator/traces lists recent traces seen by this service, /actuator/traces/{traceId} returns
+ * this service's spans of one trace. The same trace ID queried on every service gives the full
+ * cross-service picture, since trace context travels in HTTP and Kafka headers.
+ */
+@Component
+@Endpoint(id = "traces")
+public class LocalSpanStore extends SpanHandler {
+    
+    private static final int RECENT_TRACES = 50;
+    
+    private final ArrayDeque<SpanRecord> spans = new ArrayDeque<>();
+    private final int capacity;
+    
+    public LocalSpanStore(@Value("${tracing.local.max-spans:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag((target, key, value) -> target.put(key, value), tags);
+        SpanRecord record = new SpanRecord(
+            context.traceIdString(),
+            context.spanIdString(),
+            context.parentIdString(),
+            span.localServiceName(),
+            span.name(),
+            span.kind() != null ? span.kind().name() : null,
+            span.remoteServiceName(),
+            span.startTimestamp(),
+            span.finishTimestamp() - span.startTimestamp(),
+            tags,
+            span.error() != null ? span.error().toString() : span.tag("error")
+        );
+        synchronized (spans) {
+            if (spans.size() >= capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(record);
+        }
+        return true;
+    }
+    
+    /**
+     * Most recent traces, newest first
+     */
+    @ReadOperation
+    public List<TraceSummary> recentTraces() {
+        Map<String, List<SpanRecord>> byTrace = snapshot().stream()
+            .collect(Collectors.groupingBy(SpanRecord::traceId, LinkedHashMap::new, Collectors.toList()));
+        return byTrace.entrySet().stream()
+            .map(entry -> TraceSummary.of(entry.getKey(), entry.getValue()))
+            .sorted(Comparator.comparingLong(TraceSummary::startMicros).reversed())
+            .limit(RECENT_TRACES)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * This service's spans of one trace, in start order
+     */
+    @ReadOperation
+    public List<SpanRecord> trace(@Selector String traceId) {
+        return snapshot().stream()
+            .filter(span -> span.traceId().equals(traceId))
+            .sorted(Comparator.comparingLong(SpanRecord::startMicros))
+            .collect(Collectors.toList());
+    }
+    
+    private List<SpanRecord> snapshot() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+    
+    /**
+     * A finished span; timestamps and durations are in microseconds
+     */
+    public record SpanRecord(String traceId, String spanId, String parentId, String service, String name,
+                             String kind, String remoteService, long startMicros, long durationMicros,
+                             Map<String, String> tags, String error) {}
+    
+    /**
+     * Local view of one trace: its first span and the time from first start to last finish
+     */
+    public record TraceSummary(String traceId, String rootName, long startMicros, long durationMicros,
+                               int spanCount, boolean error) {
+        
+        static TraceSummary of(String traceId, List<SpanRecord> spans) {
+            SpanRecord first = spans.stream().min(Comparator.comparingLong(SpanRecord::startMicros)).orElseThrow();
+            long end = spans.stream().mapToLong(span -> span.startMicros() + span.durationMicros()).max().orElse(first.startMicros());
+            boolean error = spans.stream().anyMatch(span -> span.error() != null);
+            return new TraceSummary(traceId, first.name(), first.startMicros(), end - first.startMicros(), spans.size(), error);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.oms.auth.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * One span (and timer) per Spring Data repository call, named after the repository method
+ */
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+    
+    private final ObservationRegistry observationRegistry;
+    
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted("repository", observationRegistry)
+            .contextualName(repository + "." + method)
+            .lowCardinalityKeyValue("repository", repository)
+            .lowCardinalityKeyValue("method", method)
+            .observeChecked(joinPoint::proceed);
+    }
+}
@@ -1,30 +1,44 @@
 package com.oms.auth.config;
 
 import com.oms.auth.service.AuthService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
     private final AuthService authService;
+    private final byte[] serviceToken;
 
-    public SecurityConfig(AuthService authService) {
+    public SecurityConfig(AuthService authService, @Value("${auth.users.service-token:}") String serviceToken) {
         this.authService = authService;
+        this.serviceToken = serviceToken.getBytes(StandardCharsets.UTF_8);
     }
 
     @Bean
@@ -37,8 +51,15 @@ public class SecurityConfig {
                                 new AntPathRequestMatcher("/api/auth/register"),
                                 new AntPathRequestMatcher("/api/auth/login"),
                                 new AntPathRequestMatcher("/api/auth/health"),
+                                new AntPathRequestMatcher("/actuator/health/**"),
+                                new AntPathRequestMatcher("/actuator/info"),
                                 new AntPathRequestMatcher("/h2-console/**"))
                         .permitAll()
+                        // Bulk user details (emails included): logged-in users or services holding the service token
+                        .requestMatchers(new AntPathRequestMatcher("/api/auth/users/batch"))
+                        .access(AuthorizationManagers.anyOf(
+                                AuthenticatedAuthorizationManager.<RequestAuthorizationContext>authenticated(),
+                                this::checkServiceToken))
                         .requestMatchers("/api/auth/users/**").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -51,6 +72,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private AuthorizationDecision checkServiceToken(Supplier<Authentication> authentication,
+            RequestAuthorizationContext context) {
+        String presented = context.getRequest().getHeader(SERVICE_TOKEN_HEADER);
+        return new AuthorizationDecision(serviceToken.length > 0 && presented != null
+                && MessageDigest.isEqual(serviceToken, presented.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
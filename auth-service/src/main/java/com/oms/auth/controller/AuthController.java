@@ -9,12 +9,16 @@ import com.oms.auth.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * Authentication Controller
  * Handles user authentication, registration, and user profile operations
@@ -27,6 +31,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Value("${auth.users.batch-max-size:500}")
+    private int batchMaxSize;
+    
     /**
      * Register a new user
      * @param request Registration request containing username, email, and password
@@ -155,6 +162,23 @@ public class AuthController {
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    /**
+     * Get user details for many users at once (used by other services for event bursts)
+     * @param userIds User IDs, at most auth.users.batch-max-size
+     * @return details of the users that exist; unknown IDs are left out
+     */
+    @PostMapping("/users/batch")
+    public ResponseEntity<List<UserDetailsDto>> getUsersByIds(@RequestBody Set<Long> userIds) {
+        if (userIds.size() > batchMaxSize || userIds.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (userIds.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(authService.getUserDetailsByIds(userIds));
+    }
+    
     /**
      * Extract JWT token from Authorization header
      * @param request HTTP request
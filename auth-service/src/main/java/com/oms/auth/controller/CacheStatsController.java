@@ -0,0 +1,60 @@
+package com.oms.auth.controller;
+
+import com.oms.auth.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache statistics for the user caches
+ */
+@RestController
+@RequestMapping("/api/auth/cache")
+public class CacheStatsController {
+    
+    private final Statistics statistics;
+    private final AuthService authService;
+    
+    public CacheStatsController(EntityManagerFactory entityManagerFactory, AuthService authService) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.authService = authService;
+    }
+    
+    /**
+     * Hit/miss/put counts per second-level cache region, plus the login lookup cache
+     * @return statistics keyed by region name
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", regionStats.getHitCount());
+            entry.put("misses", regionStats.getMissCount());
+            entry.put("puts", regionStats.getPutCount());
+            entry.put("elementsInMemory", regionStats.getElementCountInMemory());
+            stats.put(region, entry);
+        }
+        
+        Map<String, Object> lookups = new LinkedHashMap<>();
+        lookups.put("hits", authService.getLoginLookupHits());
+        lookups.put("misses", authService.getLoginLookupMisses());
+        stats.put(AuthService.USER_IDS_BY_LOGIN_CACHE, lookups);
+        
+        stats.put("entityLoads", statistics.getEntityLoadCount());
+        stats.put("queryExecutions", statistics.getQueryExecutionCount());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,20 @@
+package com.oms.auth.repository;
+
+import com.oms.auth.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * User lookups that need the Hibernate session directly
+ */
+public interface UserRepositoryCustom {
+    
+    /**
+     * Load many users by ID, taking those in the second-level cache from there
+     * Only the misses are queried, in batches.
+     * @param userIds user IDs
+     * @return the users that exist, in no particular order
+     */
+    List<User> findAllByIdCached(Collection<Long> userIds);
+}
@@ -0,0 +1,32 @@
+package com.oms.auth.repository;
+
+import com.oms.auth.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findAllByIdCached(Collection<Long> userIds) {
+        // findAllById is a plain IN query and never consults the users cache region; multiLoad does
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .with(CacheMode.NORMAL)
+                .enableOrderedReturn(false)
+                .multiLoad(List.copyOf(userIds))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -9,6 +9,8 @@ import com.oms.auth.exception.UserAlreadyExistsException;
 import com.oms.auth.exception.UserNotFoundException;
 import com.oms.auth.repository.UserRepository;
 import com.oms.auth.util.JwtUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,23 +22,36 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 public class AuthService implements UserDetailsService {
 
+    public static final String USER_IDS_BY_LOGIN_CACHE = "userIdsByLogin";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final Cache userIdsByLogin;
+
+    private final AtomicLong loginLookupHits = new AtomicLong();
+    private final AtomicLong loginLookupMisses = new AtomicLong();
 
     public AuthService(UserRepository userRepository,
             @Lazy PasswordEncoder passwordEncoder,
             JwtUtil jwtUtil,
-            @Lazy AuthenticationManager authenticationManager) {
+            @Lazy AuthenticationManager authenticationManager,
+            CacheManager cacheManager) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.userIdsByLogin = cacheManager.getCache(USER_IDS_BY_LOGIN_CACHE);
     }
 
     public AuthResponseDto register(RegisterRequestDto request) {
@@ -58,6 +73,10 @@ public class AuthService implements UserDetailsService {
         // Save user to database
         User savedUser = userRepository.save(user);
 
+        // Drop any stale login mapping left behind for these names
+        userIdsByLogin.evict(savedUser.getUsername());
+        userIdsByLogin.evict(savedUser.getEmail());
+
         // Generate JWT token
         String token = jwtUtil.generateToken(savedUser);
 
@@ -77,11 +96,10 @@ public class AuthService implements UserDetailsService {
 
         // Get user details
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByUsernameOrEmail(
-                request.getUsernameOrEmail(),
-                request.getUsernameOrEmail()).orElseThrow(() -> new UserNotFoundException("User not found"));
+        User user = findUserByLogin(request.getUsernameOrEmail())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        // Update last login time
+        // Update last login time (READ_WRITE cache: the cached entity is replaced on commit)
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
 
@@ -112,7 +130,7 @@ public class AuthService implements UserDetailsService {
             String username = jwtUtil.extractUsername(token);
 
             // Get user from database
-            User user = userRepository.findByUsernameOrEmail(username, username)
+            User user = findUserByLogin(username)
                     .orElseThrow(() -> new UserNotFoundException("User not found"));
 
             return convertToUserDetailsDto(user);
@@ -129,7 +147,7 @@ public class AuthService implements UserDetailsService {
      * @return UserDetailsDto with user information
      */
     public UserDetailsDto getUserDetailsByUsername(String username) {
-        User user = userRepository.findByUsernameOrEmail(username, username)
+        User user = findUserByLogin(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
         return convertToUserDetailsDto(user);
@@ -162,7 +180,7 @@ public class AuthService implements UserDetailsService {
             String username = jwtUtil.extractUsername(token);
 
             // Get user from database
-            User user = userRepository.findByUsernameOrEmail(username, username)
+            User user = findUserByLogin(username)
                     .orElseThrow(() -> new UserNotFoundException("User not found"));
 
             // Generate new token
@@ -209,9 +227,55 @@ public class AuthService implements UserDetailsService {
         return convertToUserDetailsDto(user);
     }
 
+    /**
+     * Get user details for many user IDs; cached users cost no query, the rest take one
+     * 
+     * @param userIds User IDs
+     * @return details of the users that exist, in no particular order
+     */
+    public List<UserDetailsDto> getUserDetailsByIds(Collection<Long> userIds) {
+        return userRepository.findAllByIdCached(userIds).stream()
+                .map(this::convertToUserDetailsDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        return userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+        return findUserByLogin(usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
     }
-}
\ No newline at end of file
+
+    /**
+     * Find a user by username or email
+     * The login is resolved to an ID through a local cache, and the user is then loaded by ID,
+     * which the Hibernate second-level cache serves without a query. The Hibernate query cache
+     * is not used because every write to users (each login) would invalidate all of it.
+     *
+     * @param login username or email
+     * @return user, if any
+     */
+    private Optional<User> findUserByLogin(String login) {
+        Long userId = userIdsByLogin.get(login, Long.class);
+        if (userId != null) {
+            Optional<User> cached = userRepository.findById(userId);
+            if (cached.isPresent()) {
+                loginLookupHits.incrementAndGet();
+                return cached;
+            }
+            userIdsByLogin.evict(login);
+        }
+        loginLookupMisses.incrementAndGet();
+
+        Optional<User> user = userRepository.findByUsernameOrEmail(login, login);
+        user.ifPresent(u -> userIdsByLogin.put(login, u.getId()));
+        return user;
+    }
+
+    public long getLoginLookupHits() {
+        return loginLookupHits.get();
+    }
+
+    public long getLoginLookupMisses() {
+        return loginLookupMisses.get();
+    }
+}
@@ -0,0 +1,43 @@
+#!/bin/bash
+# Move order events to a new topic with a different partition count without breaking per-key order.
+#
+# Adding partitions in place (kafka-topics --alter) changes which partition a key hashes to, so
+# a key's new events can overtake its old ones. Instead, events are copied into a fresh topic:
+#
+#   1. ./kafka-repartition.sh copy <source> <target> <partitions>
+#        creates the target and copies the backlog while order-service keeps running
+#   2. Stop order-service, run the same copy again to pick up the tail, then start order-service
+#      with ORDER_EVENTS_TOPIC=<target>. The write pause is only as long as the tail copy.
+#   3. Wait for notification consumer lag on <source> to reach 0, then restart notification-service
+#      with ORDER_EVENTS_TOPIC=<target> and KAFKA_CONSUMER_CONCURRENCY=<partitions / instances>
+#
+# Copies resume from the migrator's committed offsets. Copied records carry an x-migrated-from
+# header and consumers skip them, so nothing is notified twice. Every key's copied history
+# comes before its new events in the target.
+
+set -e
+
+COMMAND=$1
+SOURCE_TOPIC=$2
+TARGET_TOPIC=$3
+PARTITIONS=$4
+
+if [ "$COMMAND" != "copy" ] || [ -z "$SOURCE_TOPIC" ] || [ -z "$TARGET_TOPIC" ] || [ -z "$PARTITIONS" ]; then
+    echo "Usage: $0 copy <source-topic> <target-topic> <partitions>"
+    exit 1
+fi
+
+echo "📋 Creating $TARGET_TOPIC with $PARTITIONS partitions..."
+docker exec kafka kafka-topics --bootstrap-server localhost:9092 --create --topic "$TARGET_TOPIC" --partitions "$PARTITIONS" --replication-factor 1 --if-not-exists
+
+echo "🔄 Copying $SOURCE_TOPIC -> $TARGET_TOPIC (key: ${ORDER_EVENTS_KEY:-user-id})..."
+if [ -f .env ]; then
+    export $(cat .env | grep -v '^#' | xargs)
+fi
+cd order-service
+# Separate entry point: only the migrator runs, no listeners, scheduled jobs or database
+mvn -q spring-boot:run -Dspring-boot.run.main-class=com.oms.order.OrderEventMigrationApplication \
+    -Dspring-boot.run.arguments="--kafka.migration.source-topic=$SOURCE_TOPIC --kafka.migration.target-topic=$TARGET_TOPIC"
+
+echo "✅ Copy finished"
+docker exec kafka kafka-consumer-groups --bootstrap-server localhost:9092 --describe --group order-events-migrator
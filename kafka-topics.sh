@@ -1,13 +1,17 @@
 #!/bin/bash
 echo "📋 Managing Kafka Topics..."
 
+# Partition count bounds consumer parallelism; override with ORDER_EVENTS_PARTITIONS
+ORDER_EVENTS_TOPIC=${ORDER_EVENTS_TOPIC:-order-events}
+ORDER_EVENTS_PARTITIONS=${ORDER_EVENTS_PARTITIONS:-12}
+
 # Create the order-events topic if it doesn't exist
-echo "Creating order-events topic..."
-docker exec kafka kafka-topics --bootstrap-server localhost:9092 --create --topic order-events --partitions 3 --replication-factor 1 --if-not-exists
+echo "Creating $ORDER_EVENTS_TOPIC topic with $ORDER_EVENTS_PARTITIONS partitions..."
+docker exec kafka kafka-topics --bootstrap-server localhost:9092 --create --topic "$ORDER_EVENTS_TOPIC" --partitions "$ORDER_EVENTS_PARTITIONS" --replication-factor 1 --if-not-exists
 
 echo "📋 Current topics:"
 docker exec kafka kafka-topics --bootstrap-server localhost:9092 --list
 
 echo ""
 echo "Topic details:"
-docker exec kafka kafka-topics --bootstrap-server localhost:9092 --describe --topic order-events
\ No newline at end of file
+docker exec kafka kafka-topics --bootstrap-server localhost:9092 --describe --topic "$ORDER_EVENTS_TOPIC"
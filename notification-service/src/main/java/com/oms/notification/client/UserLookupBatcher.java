@@ -0,0 +1,129 @@
+package com.oms.notification.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collects concurrent user lookups for a short window and resolves them with one batch call
+ *
+ * The first caller of a window leads it: it waits up to the window (or until the batch is full),
+ * closes the batch and makes the call on its own thread, then hands every waiter its result.
+ * No background threads are involved, and a leader with no other lookup in flight calls straight
+ * away. If the auth service has no batch endpoint (404/405) the leader falls back to one lookup per
+ * ID; any other failure fails the whole batch at once rather than trying each ID in turn.
+ */
+class UserLookupBatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserLookupBatcher.class);
+    
+    private final Function<List<Long>, Map<Long, UserServiceClient.UserDetails>> batchLookup;
+    private final Function<Long, UserServiceClient.UserDetails> singleLookup;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    
+    // Callers currently inside load(), in any batch
+    private final AtomicInteger active = new AtomicInteger();
+    
+    private Batch open;
+    
+    UserLookupBatcher(Function<List<Long>, Map<Long, UserServiceClient.UserDetails>> batchLookup,
+                      Function<Long, UserServiceClient.UserDetails> singleLookup,
+                      long windowMs,
+                      int maxBatchSize,
+                      MeterRegistry meterRegistry) {
+        this.batchLookup = batchLookup;
+        this.singleLookup = singleLookup;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("auth.user_lookup.batch_size")
+                .description("User IDs resolved per call to the auth service")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * @return the user, or null if unknown or the lookup failed
+     */
+    UserServiceClient.UserDetails load(Long userId) {
+        active.incrementAndGet();
+        try {
+            Batch batch;
+            boolean leader;
+            CompletableFuture<UserServiceClient.UserDetails> result;
+            synchronized (this) {
+                leader = open == null;
+                if (leader) {
+                    open = new Batch();
+                }
+                batch = open;
+                result = batch.waiters.computeIfAbsent(userId, id -> new CompletableFuture<>());
+                if (batch.waiters.size() >= maxBatchSize) {
+                    open = null;
+                    batch.full.countDown();
+                }
+            }
+            if (leader) {
+                lead(batch);
+            }
+            return result.join();
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+    
+    private void lead(Batch batch) {
+        if (active.get() > 1) {
+            try {
+                batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (open == batch) {
+                open = null;
+            }
+        }
+        // Closed: nobody adds to the waiters any more
+        List<Long> ids = new ArrayList<>(batch.waiters.keySet());
+        batchSizes.record(ids.size());
+        Map<Long, UserServiceClient.UserDetails> users = null;
+        try {
+            users = ids.size() == 1 ? null : batchLookup.apply(ids);
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+            logger.warn("Auth service has no batch user lookup, looking {} IDs up one by one", ids.size());
+        } catch (RuntimeException e) {
+            // Most likely the auth service is down: one lookup per ID would only make every waiter wait longer
+            logger.warn("Batch user lookup of {} IDs failed: {}", ids.size(), e.getMessage());
+            batch.waiters.values().forEach(waiter -> waiter.complete(null));
+            return;
+        }
+        for (Long id : ids) {
+            UserServiceClient.UserDetails user = null;
+            try {
+                user = users != null ? users.get(id) : singleLookup.apply(id);
+            } catch (RuntimeException e) {
+                logger.warn("User lookup for ID {} failed: {}", id, e.getMessage());
+            }
+            batch.waiters.get(id).complete(user);
+        }
+    }
+    
+    private static final class Batch {
+        final Map<Long, CompletableFuture<UserServiceClient.UserDetails>> waiters = new LinkedHashMap<>();
+        final CountDownLatch full = new CountDownLatch(1);
+    }
+}
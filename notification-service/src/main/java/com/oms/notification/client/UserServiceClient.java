@@ -1,13 +1,24 @@
 package com.oms.notification.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.oms.notification.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Client for communicating with Auth Service to get user details
  */
@@ -19,10 +30,31 @@ public class UserServiceClient {
     @Value("${auth.service.url:http://localhost:8081}")
     private String authServiceUrl;
     
+    @Value("${auth.service.service-token:}")
+    private String serviceToken;
+    
     private final RestTemplate restTemplate;
     
-    public UserServiceClient(RestTemplate restTemplate) {
+    // A burst of events for one user shares one call to the Auth Service
+    private final SingleFlight<Long, UserDetails> userCalls;
+    // Lookups for different users arriving together go out as one batch request
+    private final UserLookupBatcher batcher;
+    
+    private final ObservationRegistry observationRegistry;
+    
+    public UserServiceClient(RestTemplate restTemplate,
+                             MeterRegistry meterRegistry,
+                             ObservationRegistry observationRegistry,
+                             @Value("${auth.service.single-flight-timeout-ms:3000}") long singleFlightTimeoutMs,
+                             @Value("${auth.service.batch.enabled:true}") boolean batchEnabled,
+                             @Value("${auth.service.batch.window-ms:5}") long batchWindowMs,
+                             @Value("${auth.service.batch.max-size:100}") int batchMaxSize) {
         this.restTemplate = restTemplate;
+        this.observationRegistry = observationRegistry;
+        this.userCalls = new SingleFlight<>("auth.user-by-id", Duration.ofMillis(singleFlightTimeoutMs), meterRegistry);
+        this.batcher = batchEnabled
+            ? new UserLookupBatcher(this::fetchUsersByIds, this::fetchUserById, batchWindowMs, batchMaxSize, meterRegistry)
+            : null;
     }
     
     /**
@@ -31,6 +63,31 @@ public class UserServiceClient {
      * @return UserDetails or null if not found
      */
     public UserDetails getUserById(Long userId) {
+        // Spans the whole lookup including coalescing and batching waits; the HTTP span sits below it
+        return Observation.createNotStarted("auth.client", observationRegistry)
+            .contextualName("auth get-user-by-id")
+            .lowCardinalityKeyValue("operation", "user-by-id")
+            .observe(() -> userCalls.execute(userId, () -> batcher != null ? batcher.load(userId) : fetchUserById(userId)));
+    }
+    
+    /**
+     * One request for many users; failures are thrown so the batcher can tell a missing endpoint from an outage
+     */
+    private Map<Long, UserDetails> fetchUsersByIds(List<Long> userIds) {
+        String url = authServiceUrl + "/api/auth/users/batch";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Service-Token", serviceToken);
+        UserDetails[] users = restTemplate.postForObject(url, new HttpEntity<>(userIds, headers), UserDetails[].class);
+        Map<Long, UserDetails> byId = new HashMap<>();
+        if (users != null) {
+            for (UserDetails user : users) {
+                byId.put(user.getId(), user);
+            }
+        }
+        return byId;
+    }
+    
+    private UserDetails fetchUserById(Long userId) {
         try {
             String url = authServiceUrl + "/api/auth/users/" + userId;
             ResponseEntity<UserDetails> response = restTemplate.getForEntity(url, UserDetails.class);
@@ -0,0 +1,52 @@
+package com.oms.notification.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appender filter that lets through one in every N INFO/DEBUG events of a logger (and its children)
+ * Runs once per built event, on the calling thread before the async appender queues it, so the ratio
+ * holds whichever logging API produced the event. WARN and ERROR are never sampled.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+    
+    private String loggerName;
+    private String childPrefix;
+    private int sampleEvery = 1;
+    private final AtomicLong counter = new AtomicLong();
+    
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted() || sampleEvery <= 1 || event.getLevel().isGreaterOrEqual(Level.WARN)
+                || !matches(event.getLoggerName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    private boolean matches(String name) {
+        return name.equals(loggerName) || name.startsWith(childPrefix);
+    }
+    
+    @Override
+    public void start() {
+        if (loggerName == null) {
+            addError("No loggerName set for " + getName());
+            return;
+        }
+        super.start();
+    }
+    
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+        this.childPrefix = loggerName + ".";
+    }
+    
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+}
@@ -33,6 +33,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(
                     new AntPathRequestMatcher("/api/notifications/health"),
+                    new AntPathRequestMatcher("/actuator/health/**"),
+                    new AntPathRequestMatcher("/actuator/info"),
                     new AntPathRequestMatcher("/api/test/**"),
                     new AntPathRequestMatcher("/h2-console/**")
                 ).permitAll()
@@ -0,0 +1,49 @@
+package com.oms.notification.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs time to ready and time to first request, measured from JVM start
+ * The mode tag (default, cds, aot, aot+cds) tells the fast-startup variants apart in the logs
+ */
+@Component
+public class StartupTimingReporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingReporter.class);
+    
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+    
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        logger.info("Startup [{}]: ready {} ms after JVM start (context {} ms)",
+            mode(), uptimeMillis(), event.getTimeTaken().toMillis());
+    }
+    
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+            logger.info("Startup [{}]: first request {} {} done {} ms after JVM start (handled in {} ms)",
+                mode(), event.getMethod(), event.getRequestUrl(), uptimeMillis(), event.getProcessingTimeMillis());
+        }
+    }
+    
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+    
+    private static String mode() {
+        boolean aot = AotDetector.useGeneratedArtifacts();
+        boolean cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        return aot && cds ? "aot+cds" : aot ? "aot" : cds ? "cds" : "default";
+    }
+}
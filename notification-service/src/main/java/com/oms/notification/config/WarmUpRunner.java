@@ -0,0 +1,190 @@
+package com.oms.notification.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.notification.dto.EmailRequestDto;
+import com.oms.notification.dto.OrderEventDto;
+import com.oms.notification.entity.Money;
+import com.oms.notification.entity.OrderStatus;
+import com.oms.notification.repository.NotificationRepository;
+import com.oms.notification.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the instance up before it reports ready
+ *
+ * Application runners finish before Boot flips readiness to ACCEPTING_TRAFFIC. Within the time
+ * budget this opens the DB and auth-service connection pools and runs the event JSON, validation
+ * and JWT code paths often enough for the JIT to compile them. There is no cache to preload here:
+ * user lookups are coalesced and batched, not cached. Failing steps are logged and skipped.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+    
+    private final DataSource dataSource;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JwtUtil jwtUtil;
+    private final NotificationRepository notificationRepository;
+    
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${warmup.budget-ms:20000}")
+    private long budgetMs;
+    
+    @Value("${warmup.db-connections:10}")
+    private int dbConnections;
+    
+    @Value("${warmup.http-connections:5}")
+    private int httpConnections;
+    
+    @Value("${warmup.iterations:5000}")
+    private int iterations;
+    
+    @Value("${auth.service.url:http://localhost:8081}")
+    private String authServiceUrl;
+    
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+    
+    public WarmUpRunner(DataSource dataSource,
+                        RestTemplate restTemplate,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        JwtUtil jwtUtil,
+                        NotificationRepository notificationRepository) {
+        this.dataSource = dataSource;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jwtUtil = jwtUtil;
+        this.notificationRepository = notificationRepository;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        
+        step("db connections", deadline, this::openDbConnections);
+        step("auth connections", deadline, () -> openHttpConnections(deadline));
+        step("code paths", deadline, () -> exerciseCodePaths(deadline));
+        
+        logger.info("Warm-up finished in {} ms (budget {} ms)",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), budgetMs);
+    }
+    
+    private void step(String name, long deadline, WarmUpStep step) {
+        if (System.nanoTime() >= deadline) {
+            logger.warn("Warm-up budget spent, skipping {}", name);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            String result = step.run();
+            logger.info("Warm-up {}: {} in {} ms", name, result,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            logger.warn("Warm-up {} failed: {}", name, e.getMessage());
+        }
+    }
+    
+    /**
+     * Hold several connections at once so the pool opens them now rather than on first traffic
+     */
+    private String openDbConnections() throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < dbConnections; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        notificationRepository.findById(-1L);
+        return connections.size() + " opened";
+    }
+    
+    /**
+     * Parallel calls so the HTTP client keeps several live connections to auth-service
+     */
+    private String openHttpConnections(long deadline) throws Exception {
+        String url = authServiceUrl + "/api/auth/health";
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < httpConnections; i++) {
+                calls.add(executor.submit(() -> restTemplate.getForEntity(url, String.class)));
+            }
+            int ok = 0;
+            for (Future<?> call : calls) {
+                try {
+                    call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    ok++;
+                } catch (Exception e) {
+                    call.cancel(true);
+                }
+            }
+            return ok + "/" + httpConnections + " calls succeeded";
+        }
+    }
+    
+    /**
+     * Run the event, request and token paths on synthetic data until the JIT has seen them enough
+     */
+    private String exerciseCodePaths(long deadline) throws Exception {
+        String token = Jwts.builder()
+                .subject("warmup")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+        
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            OrderEventDto event = new OrderEventDto((long) done, (long) (done % 100), "warmup-" + done,
+                1 + done % 5, Money.ofMinor(1999).times(1 + done % 5),
+                OrderStatus.values()[done % OrderStatus.values().length], "ORDER_CREATED");
+            objectMapper.readValue(objectMapper.writeValueAsString(event), OrderEventDto.class);
+            
+            validator.validate(new EmailRequestDto("warmup@example.com", "Warm-up", "Order " + done));
+            
+            jwtUtil.isTokenValid(token, jwtUtil.extractUsername(token));
+            done++;
+        }
+        return done + " iterations";
+    }
+    
+    @FunctionalInterface
+    private interface WarmUpStep {
+        String run() throws Exception;
+    }
+}
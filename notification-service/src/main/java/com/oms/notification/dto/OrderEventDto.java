@@ -1,12 +1,14 @@
 package com.oms.notification.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.oms.notification.entity.Money;
 import com.oms.notification.entity.OrderStatus;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class OrderEventDto {
     
     @JsonProperty("orderId")
@@ -22,7 +24,7 @@ public class OrderEventDto {
     private Integer quantity;
     
     @JsonProperty("totalAmount")
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @JsonProperty("status")
     private OrderStatus status; 
@@ -40,7 +42,7 @@ public class OrderEventDto {
     }
     
     public OrderEventDto(Long orderId, Long userId, String productName, Integer quantity, 
-                        BigDecimal totalAmount, OrderStatus status, String eventType) {
+                        Money totalAmount, OrderStatus status, String eventType) {
         this.orderId = orderId;
         this.userId = userId;
         this.productName = productName;
@@ -64,8 +66,8 @@ public class OrderEventDto {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
     
-    public BigDecimal getTotalAmount() { return totalAmount; }
-    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
     
     public OrderStatus getStatus() { return status; } // Changed return type to String
     public void setStatus(OrderStatus status) { this.status = status; }
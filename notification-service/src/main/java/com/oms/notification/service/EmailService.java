@@ -1,5 +1,8 @@
 package com.oms.notification.service;
 
+import com.oms.notification.entity.Money;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,7 +15,6 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
-import java.math.BigDecimal;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -25,6 +27,7 @@ public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     
     private final JavaMailSender mailSender;
+    private final ObservationRegistry observationRegistry;
     
     @Value("${app.email.from}")
     private String fromEmail;
@@ -42,8 +45,9 @@ public class EmailService {
     @Value("${spring.mail.port}")
     private int smtpPort;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, ObservationRegistry observationRegistry) {
         this.mailSender = mailSender;
+        this.observationRegistry = observationRegistry;
     }
     
     /**
@@ -56,8 +60,8 @@ public class EmailService {
     public boolean sendEmail(String to, String subject, String body) {
         try {
             SimpleMailMessage message = createEmailMessage(to, subject, body);
-            mailSender.send(message);
-            logger.info("Email sent successfully to: {}", to);
+            send(message);
+            logger.atInfo().addKeyValue("to", to).log("Email sent");
             return true;
             
         } catch (MailException e) {
@@ -78,15 +82,16 @@ public class EmailService {
      */
     @Async("emailTaskExecutor")
     public CompletableFuture<Boolean> sendEmailAsync(String to, String subject, String body) {
-        logger.debug("Sending email asynchronously to: {}", to);
-        
         try {
             SimpleMailMessage message = createEmailMessage(to, subject, body);
-            logger.info("Created email message: From={}, To={}, Subject={}", 
-                       message.getFrom(), message.getTo()[0], message.getSubject());
+            logger.atDebug()
+                .addKeyValue("from", message.getFrom())
+                .addKeyValue("to", to)
+                .addKeyValue("subject", subject)
+                .log("Sending email");
             
-            mailSender.send(message);
-            logger.info("✅ Async email sent successfully to: {}", to);
+            send(message);
+            logger.atInfo().addKeyValue("to", to).log("Email sent");
             return CompletableFuture.completedFuture(true);
             
         } catch (MailAuthenticationException e) {
@@ -108,13 +113,13 @@ public class EmailService {
     }
     
     /**
-     * Send order confirmation email - Updated to handle different numeric types
+     * Send order confirmation email
      * @param userEmail User's email address
      * @param userName User's name
      * @param orderId Order ID
      * @param productName Product name
-     * @param quantity Quantity ordered (Integer or int)
-     * @param totalAmount Total order amount (BigDecimal or double)
+     * @param quantity Quantity ordered
+     * @param totalAmount Total order amount
      * @return CompletableFuture<Boolean> indicating success/failure
      */
     @Async("emailTaskExecutor")
@@ -123,18 +128,11 @@ public class EmailService {
             String userName, 
             Long orderId, 
             String productName, 
-            Object quantity,  // Changed to Object to handle both Integer and int
-            Object totalAmount) { // Changed to Object to handle both BigDecimal and double
+            Integer quantity,
+            Money totalAmount) {
         
         String subject = "Order Confirmation - Order #" + orderId;
-        
-        // Convert quantity to int
-        int qty = convertToInt(quantity);
-        
-        // Convert totalAmount to double
-        double amount = convertToDouble(totalAmount);
-        
-        String body = buildOrderConfirmationEmailBody(userName, orderId, productName, qty, amount);
+        String body = buildOrderConfirmationEmailBody(userName, orderId, productName, quantity, totalAmount);
         
         return sendEmailAsync(userEmail, subject, body);
     }
@@ -161,33 +159,13 @@ public class EmailService {
     }
     
     /**
-     * Helper method to convert quantity to int
-     */
-    private int convertToInt(Object quantity) {
-        if (quantity instanceof Integer) {
-            return (Integer) quantity;
-        } else if (quantity instanceof Number) {
-            return ((Number) quantity).intValue();
-        } else {
-            logger.warn("Unexpected quantity type: {}, using default value 1", quantity.getClass());
-            return 1;
-        }
-    }
-    
-    /**
-     * Helper method to convert totalAmount to double
+     * Hand a message to the SMTP server inside an "email.send" span
      */
-    private double convertToDouble(Object totalAmount) {
-        if (totalAmount instanceof BigDecimal) {
-            return ((BigDecimal) totalAmount).doubleValue();
-        } else if (totalAmount instanceof Double) {
-            return (Double) totalAmount;
-        } else if (totalAmount instanceof Number) {
-            return ((Number) totalAmount).doubleValue();
-        } else {
-            logger.warn("Unexpected totalAmount type: {}, using default value 0.0", totalAmount.getClass());
-            return 0.0;
-        }
+    private void send(SimpleMailMessage message) {
+        Observation.createNotStarted("email.send", observationRegistry)
+            .contextualName("smtp send")
+            .lowCardinalityKeyValue("smtp.host", String.valueOf(smtpHost))
+            .observe(() -> mailSender.send(message));
     }
     
     /**
@@ -209,7 +187,7 @@ public class EmailService {
     /**
      * Build order confirmation email body
      */
-    private String buildOrderConfirmationEmailBody(String userName, Long orderId, String productName, int quantity, double totalAmount) {
+    private String buildOrderConfirmationEmailBody(String userName, Long orderId, String productName, Integer quantity, Money totalAmount) {
         return String.format("""
             Dear %s,
             
@@ -219,7 +197,7 @@ public class EmailService {
             - Order ID: #%d
             - Product: %s
             - Quantity: %d
-            - Total Amount: $%.2f
+            - Total Amount: $%s
             
             We'll send you another email when your order has been shipped with tracking information.
             
@@ -12,11 +12,14 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Service
 @ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
 public class KafkaConsumerService {
     
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
+    private static final String MIGRATED_FROM_HEADER = "x-migrated-from";
     
     private final NotificationService notificationService;
     private final ObjectMapper objectMapper;
@@ -28,33 +31,50 @@ public class KafkaConsumerService {
         this.objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
     
-    @KafkaListener(topics = "order-events", groupId = "notification-service-group-v5")
+    @KafkaListener(topics = "${kafka.topics.order-events:order-events}", groupId = "notification-service-group-v5")
     public void consumeOrderEvent(
             @Payload String rawMessage,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset
+            @Header(KafkaHeaders.OFFSET) long offset,
+            @Header(name = MIGRATED_FROM_HEADER, required = false) byte[] migratedFrom
     ) {
-        logger.info("=== KAFKA MESSAGE RECEIVED ===");
-        logger.info("Topic: {}, Partition: {}, Offset: {}", topic, partition, offset);
-        logger.info("Message: {}", rawMessage);
+        // Copied by the topic migrator; the original was already handled from the old topic
+        if (migratedFrom != null) {
+            logger.atDebug()
+                .addKeyValue("partition", partition)
+                .addKeyValue("offset", offset)
+                .addKeyValue("migratedFrom", () -> new String(migratedFrom, StandardCharsets.UTF_8))
+                .log("Skipping migrated order event");
+            return;
+        }
+        // Payloads are only logged at DEBUG; they carry customer data and dominate log volume
+        logger.atDebug()
+            .addKeyValue("topic", topic)
+            .addKeyValue("partition", partition)
+            .addKeyValue("offset", offset)
+            .addKeyValue("payload", rawMessage)
+            .log("Order event received");
         
         try {
-            // Parse the JSON manually
             OrderEventDto orderEvent = objectMapper.readValue(rawMessage, OrderEventDto.class);
-            logger.info("✅ Successfully parsed: {}", orderEvent);
-            
-            // Process the order event - FIXED: Use handleOrderEvent instead of processOrderEvent
             notificationService.handleOrderEvent(orderEvent);
             
-            logger.info("✅ Successfully processed order event for order: {}", orderEvent.getOrderId());
+            logger.atInfo()
+                .addKeyValue("orderId", orderEvent.getOrderId())
+                .addKeyValue("eventType", orderEvent.getEventType())
+                .addKeyValue("partition", partition)
+                .addKeyValue("offset", offset)
+                .log("Order event processed");
             
         } catch (Exception e) {
-            logger.error("❌ Failed to process message: {}", rawMessage, e);
-            logger.error("❌ Error details: {}", e.getMessage());
-            
-            // Log the full stack trace for debugging
-            e.printStackTrace();
+            logger.atError()
+                .addKeyValue("topic", topic)
+                .addKeyValue("partition", partition)
+                .addKeyValue("offset", offset)
+                .addKeyValue("payload", rawMessage)
+                .setCause(e)
+                .log("Failed to process order event");
         }
     }
 }
\ No newline at end of file
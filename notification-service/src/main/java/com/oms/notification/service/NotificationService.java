@@ -43,7 +43,11 @@ public class NotificationService {
      * @param orderEvent Order event data
      */
     public void handleOrderEvent(OrderEventDto orderEvent) {
-        logger.info("Received order event: {}", orderEvent);
+        logger.atDebug()
+            .addKeyValue("orderId", orderEvent.getOrderId())
+            .addKeyValue("eventType", orderEvent.getEventType())
+            .addKeyValue("userId", orderEvent.getUserId())
+            .log("Handling order event");
         
         try {
             // Get user details from Auth Service
@@ -71,7 +75,7 @@ public class NotificationService {
      * Handle order creation event
      */
     private void handleOrderCreated(OrderEventDto orderEvent, UserServiceClient.UserDetails userDetails) {
-        logger.info("Sending order confirmation email for order: {}", orderEvent.getOrderId());
+        logger.atInfo().addKeyValue("orderId", orderEvent.getOrderId()).log("Sending order confirmation email");
         
         // Create notification record
         Notification notification = createNotification(
@@ -96,7 +100,7 @@ public class NotificationService {
         // Handle the result asynchronously
         emailResult.thenAccept(success -> {
             if (success) {
-                logger.info("Order confirmation email sent successfully for order: {}", orderEvent.getOrderId());
+                logger.atInfo().addKeyValue("orderId", orderEvent.getOrderId()).log("Order confirmation email sent");
                 updateNotificationStatus(notification, NotificationStatus.SENT, null);
             } else {
                 logger.error("Failed to send order confirmation email for order: {}", orderEvent.getOrderId());
@@ -109,7 +113,7 @@ public class NotificationService {
      * Handle order update event
      */
     private void handleOrderUpdated(OrderEventDto orderEvent, UserServiceClient.UserDetails userDetails) {
-        logger.info("Sending order status update email for order: {}", orderEvent.getOrderId());
+        logger.atInfo().addKeyValue("orderId", orderEvent.getOrderId()).log("Sending order status update email");
         
         // Create notification record
         Notification notification = createNotification(
@@ -133,7 +137,7 @@ public class NotificationService {
         
         emailResult.thenAccept(success -> {
             if (success) {
-                logger.info("Order status update email sent successfully for order: {}", orderEvent.getOrderId());
+                logger.atInfo().addKeyValue("orderId", orderEvent.getOrderId()).log("Order status update email sent");
                 updateNotificationStatus(notification, NotificationStatus.SENT, null);
             } else {
                 logger.error("Failed to send order status update email for order: {}", orderEvent.getOrderId());
@@ -146,14 +150,10 @@ public class NotificationService {
      * Handle order cancellation event
      */
     private void handleOrderCancelled(OrderEventDto orderEvent, UserServiceClient.UserDetails userDetails) {
-        logger.info("Sending order cancellation email for order: {}", orderEvent.getOrderId());
+        logger.atInfo().addKeyValue("orderId", orderEvent.getOrderId()).log("Sending order cancellation email");
         
         String subject = "Order Cancellation - Order #" + orderEvent.getOrderId();
         
-        // FIXED: Handle potential type conversion for quantity and amount
-        int quantity = convertToInt(orderEvent.getQuantity());
-        double totalAmount = convertToDouble(orderEvent.getTotalAmount());
-        
         String body = String.format("""
             Dear %s,
             
@@ -163,7 +163,7 @@ public class NotificationService {
             - Order ID: #%d
             - Product: %s
             - Quantity: %d
-            - Amount: $%.2f
+            - Amount: $%s
             
             If this cancellation was not requested by you, please contact our customer support immediately.
             
@@ -175,8 +175,8 @@ public class NotificationService {
             userDetails.getUsername(), 
             orderEvent.getOrderId(), 
             orderEvent.getProductName(),
-            quantity,
-            totalAmount
+            orderEvent.getQuantity(),
+            orderEvent.getTotalAmount()
         );
         
         // Create notification record
@@ -197,7 +197,7 @@ public class NotificationService {
         
         emailResult.thenAccept(success -> {
             if (success) {
-                logger.info("Order cancellation email sent successfully for order: {}", orderEvent.getOrderId());
+                logger.atInfo().addKeyValue("orderId", orderEvent.getOrderId()).log("Order cancellation email sent");
                 updateNotificationStatus(notification, NotificationStatus.SENT, null);
             } else {
                 logger.error("Failed to send order cancellation email for order: {}", orderEvent.getOrderId());
@@ -374,43 +374,10 @@ public class NotificationService {
         return status.toString();
     }
     
-    /**
-     * Helper method to convert quantity to int
-     */
-    private int convertToInt(Object quantity) {
-        if (quantity instanceof Integer) {
-            return (Integer) quantity;
-        } else if (quantity instanceof Number) {
-            return ((Number) quantity).intValue();
-        } else {
-            logger.warn("Unexpected quantity type: {}, using default value 1", quantity != null ? quantity.getClass() : "null");
-            return 1;
-        }
-    }
-    
-    /**
-     * Helper method to convert totalAmount to double
-     */
-    private double convertToDouble(Object totalAmount) {
-        if (totalAmount instanceof java.math.BigDecimal) {
-            return ((java.math.BigDecimal) totalAmount).doubleValue();
-        } else if (totalAmount instanceof Double) {
-            return (Double) totalAmount;
-        } else if (totalAmount instanceof Number) {
-            return ((Number) totalAmount).doubleValue();
-        } else {
-            logger.warn("Unexpected totalAmount type: {}, using default value 0.0", totalAmount != null ? totalAmount.getClass() : "null");
-            return 0.0;
-        }
-    }
-    
     /**
      * Build order confirmation message
      */
     private String buildOrderConfirmationMessage(OrderEventDto orderEvent, UserServiceClient.UserDetails userDetails) {
-        int quantity = convertToInt(orderEvent.getQuantity());
-        double totalAmount = convertToDouble(orderEvent.getTotalAmount());
-        
         return String.format("""
             Dear %s,
             
@@ -420,7 +387,7 @@ public class NotificationService {
             - Order ID: #%d
             - Product: %s
             - Quantity: %d
-            - Total Amount: $%.2f
+            - Total Amount: $%s
             
             We'll send you another email when your order has been shipped with tracking information.
             
@@ -430,8 +397,8 @@ public class NotificationService {
             userDetails.getUsername(), 
             orderEvent.getOrderId(), 
             orderEvent.getProductName(),
-            quantity,
-            totalAmount
+            orderEvent.getQuantity(),
+            orderEvent.getTotalAmount()
         );
     }
     
@@ -0,0 +1,28 @@
+package com.oms.order;
+
+import com.oms.order.config.KafkaPartitioningConfig;
+import com.oms.order.service.OrderEventTopicMigrator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+
+/**
+ * Entry point for kafka-repartition.sh: runs only the topic migrator
+ * None of the service is started (no web server, database, Kafka listeners or scheduled jobs), so a
+ * copy can run next to the live fleet without consuming events or changing data.
+ * Deliberately not a @Configuration, so the service's component scan doesn't pick it up.
+ */
+@Import({OrderEventTopicMigrator.class, KafkaPartitioningConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class OrderEventMigrationApplication {
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(OrderEventMigrationApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of("kafka.migration.enabled", "true"));
+        application.run(args);
+    }
+}
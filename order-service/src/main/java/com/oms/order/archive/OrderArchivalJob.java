@@ -0,0 +1,119 @@
+package com.oms.order.archive;
+
+import com.oms.order.entity.Order;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves old DELIVERED/CANCELLED orders out of the hot table into columnar segments
+ *
+ * Each chunk runs in its own transaction: the rows are locked, written to a segment that is
+ * fsynced before the DELETE, and the segment is registered for reads after commit. A rolled-back
+ * chunk deletes its segment file again, so the archive never holds a stale copy of a live row.
+ * Segments live on local disk, so run this on a single instance with a shared archive directory.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+public class OrderArchivalJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchivalJob.class);
+    private static final Set<OrderStatus> ARCHIVABLE = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    
+    private final OrderRepository orderRepository;
+    private final OrderArchive orderArchive;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${orders.archive.retention-days:90}")
+    private int retentionDays;
+    
+    @Value("${orders.archive.chunk-size:5000}")
+    private int chunkSize;
+    
+    @Value("${orders.archive.max-chunks-per-run:20}")
+    private int maxChunksPerRun;
+    
+    public OrderArchivalJob(OrderRepository orderRepository,
+                            OrderArchive orderArchive,
+                            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderArchive = orderArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Scheduled(cron = "${orders.archive.cron:0 30 2 * * *}")
+    public void archiveOldOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Path segment;
+            try {
+                segment = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            } catch (RuntimeException e) {
+                logger.error("Order archival chunk failed: {}", e.getMessage());
+                break;
+            }
+            if (segment == null) {
+                break;
+            }
+            orderArchive.register(segment);
+            archived++;
+        }
+        if (archived > 0) {
+            logger.info("Archived {} chunk(s) of orders created before {}", archived, cutoff);
+        }
+    }
+    
+    private Path archiveChunk(LocalDateTime cutoff) {
+        List<Order> orders = orderRepository.findArchivableForUpdate(ARCHIVABLE, cutoff, PageRequest.of(0, chunkSize));
+        if (orders.isEmpty()) {
+            return null;
+        }
+        Path segment = writeSegment(orders);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    try {
+                        Files.deleteIfExists(segment);
+                    } catch (IOException e) {
+                        logger.error("Failed to remove segment {} after rollback: {}", segment, e.getMessage());
+                    }
+                }
+            }
+        });
+        List<Long> ids = orders.stream().map(Order::getId).collect(Collectors.toList());
+        orderRepository.deleteAllByIdInBatch(ids);
+        logger.info("Archived {} orders ({}..{}) to {}", ids.size(), ids.get(0), ids.get(ids.size() - 1),
+            segment.getFileName());
+        return segment;
+    }
+    
+    private Path writeSegment(List<Order> orders) {
+        try {
+            return OrderSegmentWriter.write(orderArchive.getDirectory(), orders);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order segment", e);
+        }
+    }
+}
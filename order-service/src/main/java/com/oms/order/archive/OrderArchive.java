@@ -0,0 +1,136 @@
+package com.oms.order.archive;
+
+import com.oms.order.entity.Order;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of archived order segments on local disk
+ * Segments are memory-mapped when registered; lookups only touch segments whose id range covers the order.
+ * The directory may be shared with the instance that runs the archival job, so a lookup that misses
+ * rescans it for new segments, at most once per rescan interval.
+ */
+@Component
+public class OrderArchive {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchive.class);
+    
+    private final Path directory;
+    private final long rescanIntervalNanos;
+    private final List<OrderSegment> segments = new CopyOnWriteArrayList<>();
+    // File names of the registered segments
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+    private long lastScanNanos;
+    
+    public OrderArchive(@Value("${orders.archive.directory:./data/order-archive}") String directory,
+                        @Value("${orders.archive.rescan-interval-ms:5000}") long rescanIntervalMs) {
+        this.directory = Paths.get(directory);
+        this.rescanIntervalNanos = TimeUnit.MILLISECONDS.toNanos(rescanIntervalMs);
+    }
+    
+    @PostConstruct
+    public void loadSegments() {
+        scan();
+        logger.info("Loaded {} archived order segments from {}", segments.size(), directory);
+    }
+    
+    /**
+     * Register segments written by other instances and drop those whose file is gone
+     * (another instance's chunk rolled back)
+     * @return number of segments added
+     */
+    private synchronized int scan() {
+        lastScanNanos = System.nanoTime();
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int before = segments.size();
+        Set<String> present = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+            for (Path file : files) {
+                present.add(file.getFileName().toString());
+                register(file);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to scan order archive directory {}: {}", directory, e.getMessage());
+            return 0;
+        }
+        segments.removeIf(segment -> !present.contains(segment.getPath().getFileName().toString()));
+        registered.retainAll(present);
+        return Math.max(0, segments.size() - before);
+    }
+    
+    private synchronized int rescanIfDue() {
+        return System.nanoTime() - lastScanNanos >= rescanIntervalNanos ? scan() : 0;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    /**
+     * Map a newly written segment and make it visible to lookups
+     * @param file segment file
+     */
+    public synchronized void register(Path file) {
+        String name = file.getFileName().toString();
+        if (!registered.add(name)) {
+            return;
+        }
+        try {
+            segments.add(OrderSegment.open(file));
+        } catch (IOException | RuntimeException e) {
+            registered.remove(name);
+            logger.error("Failed to open order segment {}: {}", file, e.getMessage());
+        }
+    }
+    
+    /**
+     * Find an archived order by ID
+     * @param orderId order ID
+     * @return detached order, or empty if it was never archived
+     */
+    public Optional<Order> find(Long orderId) {
+        Optional<Order> order = findRegistered(orderId);
+        if (order.isEmpty() && rescanIfDue() > 0) {
+            order = findRegistered(orderId);
+        }
+        return order;
+    }
+    
+    private Optional<Order> findRegistered(Long orderId) {
+        for (OrderSegment segment : segments) {
+            if (segment.mayContain(orderId)) {
+                Optional<Order> order = segment.find(orderId);
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    public int getSegmentCount() {
+        return segments.size();
+    }
+    
+    public long getArchivedRowCount() {
+        return segments.stream().mapToLong(OrderSegment::getRowCount).sum();
+    }
+}
@@ -0,0 +1,93 @@
+package com.oms.order.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of the orders table ahead of time and drops old ones once archival has emptied them
+ * Requires the table to have been converted with db/orders-partitioning.sql
+ */
+@Component
+@ConditionalOnProperty(name = "orders.partitioning.enabled", havingValue = "true")
+public class OrderPartitionMaintenance {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionMaintenance.class);
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${orders.partitioning.months-ahead:3}")
+    private int monthsAhead;
+    
+    @Value("${orders.archive.retention-days:90}")
+    private int retentionDays;
+    
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+    
+    @Scheduled(cron = "${orders.partitioning.cron:0 0 1 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            logger.warn("orders.partitioning.enabled is set but the orders table is not partitioned - skipping");
+            return;
+        }
+        createUpcomingPartitions();
+        dropEmptyExpiredPartitions();
+    }
+    
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+            "SELECT relkind::text FROM pg_class WHERE relname = 'orders' AND relnamespace = current_schema()::regnamespace",
+            String.class);
+        return kinds.contains("p");
+    }
+    
+    private void createUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate from = month.plusMonths(i);
+            LocalDate to = from.plusMonths(1);
+            String name = "orders_p" + from.format(SUFFIX);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF orders FOR VALUES FROM ('"
+                + from + "') TO ('" + to + "')");
+        }
+        logger.info("Ensured order partitions through {}", month.plusMonths(monthsAhead).format(SUFFIX));
+    }
+    
+    private void dropEmptyExpiredPartitions() {
+        // A partition can go once its whole range is past retention and archival has moved every row out
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays).withDayOfMonth(1);
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'orders' AND c.relname LIKE 'orders\\_p%'",
+            String.class);
+        for (String partition : partitions) {
+            LocalDate start = LocalDate.parse(partition.substring("orders_p".length()) + "01",
+                DateTimeFormatter.BASIC_ISO_DATE);
+            if (!start.plusMonths(1).isAfter(cutoff)) {
+                List<Integer> rows = jdbcTemplate.queryForList("SELECT 1 FROM " + partition + " LIMIT 1", Integer.class);
+                if (rows.isEmpty()) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    logger.info("Dropped empty order partition {}", partition);
+                }
+            }
+        }
+    }
+}
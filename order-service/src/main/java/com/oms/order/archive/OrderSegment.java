@@ -0,0 +1,190 @@
+package com.oms.order.archive;
+
+import com.oms.order.entity.Money;
+import com.oms.order.entity.Order;
+import com.oms.order.entity.OrderStatus;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.oms.order.archive.OrderSegmentWriter.*;
+
+/**
+ * Read-only view over a memory-mapped order segment
+ * Lookups binary-search the uncompressed id column in place; the other columns are
+ * inflated on first use and kept behind soft references so cold segments cost no heap.
+ */
+public final class OrderSegment {
+    
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final long minId;
+    private final long maxId;
+    private final long[] offsets = new long[COLUMN_COUNT];
+    private final int[] storedLengths = new int[COLUMN_COUNT];
+    private final int[] rawLengths = new int[COLUMN_COUNT];
+    
+    @SuppressWarnings("unchecked")
+    private final SoftReference<ByteBuffer>[] inflated = new SoftReference[COLUMN_COUNT];
+    private volatile SoftReference<String[]> productDictionary = new SoftReference<>(null);
+    
+    private OrderSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not an order segment: " + path);
+        }
+        this.rowCount = buffer.getInt(8);
+        this.minId = buffer.getLong(12);
+        this.maxId = buffer.getLong(20);
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            int entry = HEADER_SIZE + c * DIRECTORY_ENTRY_SIZE;
+            offsets[c] = buffer.getLong(entry);
+            storedLengths[c] = buffer.getInt(entry + 8);
+            rawLengths[c] = buffer.getInt(entry + 12);
+        }
+    }
+    
+    /**
+     * Map a segment file into memory
+     * @param path segment file
+     * @return opened segment
+     */
+    public static OrderSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OrderSegment(path, mapped);
+        }
+    }
+    
+    public Path getPath() { return path; }
+    
+    public int getRowCount() { return rowCount; }
+    
+    public long getMinId() { return minId; }
+    
+    public long getMaxId() { return maxId; }
+    
+    public boolean mayContain(long orderId) {
+        return orderId >= minId && orderId <= maxId;
+    }
+    
+    /**
+     * Find an archived order by ID
+     * @param orderId order ID
+     * @return detached order entity, or empty if the segment doesn't hold it
+     */
+    public Optional<Order> find(long orderId) {
+        if (!mayContain(orderId)) {
+            return Optional.empty();
+        }
+        int row = binarySearch(orderId);
+        if (row < 0) {
+            return Optional.empty();
+        }
+        
+        Order order = new Order();
+        order.setId(orderId);
+        order.setUserId(column(COL_USER_ID).getLong(row * 8));
+        order.setProductName(product(row));
+        order.setQuantity(column(COL_QUANTITY).getInt(row * 4));
+        order.setPrice(Money.ofMinor(column(COL_PRICE).getLong(row * 8)));
+        order.setTotalAmount(Money.ofMinor(column(COL_TOTAL).getLong(row * 8)));
+        order.setStatus(STATUSES[column(COL_STATUS).get(row)]);
+        order.setCreatedAt(fromEpochMillis(column(COL_CREATED_AT).getLong(row * 8)));
+        order.setUpdatedAt(fromEpochMillis(column(COL_UPDATED_AT).getLong(row * 8)));
+        return Optional.of(order);
+    }
+    
+    private int binarySearch(long orderId) {
+        long base = offsets[COL_ID];
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = buffer.getLong((int) (base + (long) mid * 8));
+            if (value < orderId) {
+                low = mid + 1;
+            } else if (value > orderId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    private String product(int row) {
+        ByteBuffer column = column(COL_PRODUCT);
+        String[] dictionary = productDictionary.get();
+        if (dictionary == null) {
+            dictionary = readDictionary(column);
+            productDictionary = new SoftReference<>(dictionary);
+        }
+        int codesOffset = column.capacity() - rowCount * 4;
+        return dictionary[column.getInt(codesOffset + row * 4)];
+    }
+    
+    private static String[] readDictionary(ByteBuffer column) {
+        int size = column.getInt(0);
+        String[] values = new String[size];
+        int position = 4;
+        for (int i = 0; i < size; i++) {
+            int length = column.getInt(position);
+            byte[] bytes = new byte[length];
+            column.get(position + 4, bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 4 + length;
+        }
+        return values;
+    }
+    
+    private ByteBuffer column(int index) {
+        SoftReference<ByteBuffer> ref = inflated[index];
+        ByteBuffer column = ref != null ? ref.get() : null;
+        if (column == null) {
+            column = inflate(index);
+            inflated[index] = new SoftReference<>(column);
+        }
+        return column;
+    }
+    
+    private ByteBuffer inflate(int index) {
+        byte[] stored = new byte[storedLengths[index]];
+        buffer.get((int) offsets[index], stored);
+        byte[] raw = new byte[rawLengths[index]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            int total = 0;
+            while (total < raw.length && !inflater.finished()) {
+                total += inflater.inflate(raw, total, raw.length - total);
+            }
+            return ByteBuffer.wrap(raw).asReadOnlyBuffer();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt column " + index + " in segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return millis == Long.MIN_VALUE ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
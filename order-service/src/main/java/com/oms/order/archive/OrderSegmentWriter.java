@@ -0,0 +1,182 @@
+package com.oms.order.archive;
+
+import com.oms.order.entity.Order;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes archived orders as an immutable columnar segment file
+ *
+ * Layout: header, column directory, then one block per column. The id column is stored
+ * uncompressed so readers can binary-search it straight from the memory-mapped file;
+ * every other column is deflate-compressed. Product names are dictionary-encoded.
+ */
+public final class OrderSegmentWriter {
+    
+    static final int MAGIC = 0x4F534547; // "OSEG"
+    static final int VERSION = 1;
+    
+    static final int COL_ID = 0;
+    static final int COL_USER_ID = 1;
+    static final int COL_PRODUCT = 2;
+    static final int COL_QUANTITY = 3;
+    static final int COL_PRICE = 4;
+    static final int COL_TOTAL = 5;
+    static final int COL_STATUS = 6;
+    static final int COL_CREATED_AT = 7;
+    static final int COL_UPDATED_AT = 8;
+    static final int COLUMN_COUNT = 9;
+    
+    // magic, version, rowCount, minId, maxId
+    static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8;
+    // offset, stored length, raw length, compressed flag
+    static final int DIRECTORY_ENTRY_SIZE = 8 + 4 + 4 + 4;
+    
+    private OrderSegmentWriter() {}
+    
+    /**
+     * Write a segment for the given orders and fsync it before returning
+     * @param directory archive directory
+     * @param orders orders to archive (any order; sorted by id internally)
+     * @return path of the new segment
+     */
+    public static Path write(Path directory, List<Order> orders) throws IOException {
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("Cannot write an empty segment");
+        }
+        List<Order> rows = new ArrayList<>(orders);
+        rows.sort(Comparator.comparing(Order::getId));
+        int n = rows.size();
+        
+        ByteBuffer ids = ByteBuffer.allocate(n * 8);
+        ByteBuffer userIds = ByteBuffer.allocate(n * 8);
+        ByteBuffer quantities = ByteBuffer.allocate(n * 4);
+        ByteBuffer prices = ByteBuffer.allocate(n * 8);
+        ByteBuffer totals = ByteBuffer.allocate(n * 8);
+        ByteBuffer statuses = ByteBuffer.allocate(n);
+        ByteBuffer createdAts = ByteBuffer.allocate(n * 8);
+        ByteBuffer updatedAts = ByteBuffer.allocate(n * 8);
+        
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> dictionaryValues = new ArrayList<>();
+        ByteBuffer productCodes = ByteBuffer.allocate(n * 4);
+        
+        for (Order order : rows) {
+            ids.putLong(order.getId());
+            userIds.putLong(order.getUserId());
+            quantities.putInt(order.getQuantity());
+            prices.putLong(order.getPrice().minorUnits());
+            totals.putLong(order.getTotalAmount().minorUnits());
+            statuses.put((byte) order.getStatus().ordinal());
+            createdAts.putLong(toEpochMillis(order.getCreatedAt()));
+            updatedAts.putLong(toEpochMillis(order.getUpdatedAt()));
+            
+            Integer code = dictionary.get(order.getProductName());
+            if (code == null) {
+                code = dictionaryValues.size();
+                dictionary.put(order.getProductName(), code);
+                dictionaryValues.add(order.getProductName());
+            }
+            productCodes.putInt(code);
+        }
+        
+        byte[][] raw = new byte[COLUMN_COUNT][];
+        raw[COL_ID] = ids.array();
+        raw[COL_USER_ID] = userIds.array();
+        raw[COL_PRODUCT] = encodeProducts(dictionaryValues, productCodes.array());
+        raw[COL_QUANTITY] = quantities.array();
+        raw[COL_PRICE] = prices.array();
+        raw[COL_TOTAL] = totals.array();
+        raw[COL_STATUS] = statuses.array();
+        raw[COL_CREATED_AT] = createdAts.array();
+        raw[COL_UPDATED_AT] = updatedAts.array();
+        
+        byte[][] stored = new byte[COLUMN_COUNT][];
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            stored[c] = c == COL_ID ? raw[c] : deflate(raw[c]);
+        }
+        
+        long minId = rows.get(0).getId();
+        long maxId = rows.get(n - 1).getId();
+        
+        int directorySize = COLUMN_COUNT * DIRECTORY_ENTRY_SIZE;
+        ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + directorySize);
+        head.putInt(MAGIC).putInt(VERSION).putInt(n).putLong(minId).putLong(maxId);
+        long offset = HEADER_SIZE + directorySize;
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            head.putLong(offset).putInt(stored[c].length).putInt(raw[c].length).putInt(c == COL_ID ? 0 : 1);
+            offset += stored[c].length;
+        }
+        head.flip();
+        
+        Files.createDirectories(directory);
+        String name = String.format("orders-%019d-%019d-%d.seg", minId, maxId, System.currentTimeMillis());
+        Path target = directory.resolve(name);
+        Path temp = directory.resolve(name + ".tmp");
+        
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(channel, head);
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                writeFully(channel, ByteBuffer.wrap(stored[c]));
+            }
+            channel.force(true);
+        }
+        return Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    static long toEpochMillis(LocalDateTime time) {
+        return time == null ? Long.MIN_VALUE : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    private static byte[] encodeProducts(List<String> dictionaryValues, byte[] codes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer count = ByteBuffer.allocate(4).putInt(dictionaryValues.size());
+        out.writeBytes(count.array());
+        for (String value : dictionaryValues) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(bytes.length).array());
+            out.writeBytes(bytes);
+        }
+        out.writeBytes(codes);
+        return out.toByteArray();
+    }
+    
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.write(chunk, 0, written);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
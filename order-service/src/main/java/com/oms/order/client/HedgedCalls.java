@@ -0,0 +1,174 @@
+package com.oms.order.client;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedges a slow call with a second identical one and keeps whichever answers first
+ *
+ * The hedge is sent once the first attempt has taken longer than a percentile of recently observed
+ * call latencies, and the loser is cancelled. Attempts run on virtual threads, where cancelling
+ * interrupts blocking socket I/O and so actually aborts the HTTP call. Hedges are paid for from a
+ * budget that every call tops up by a fraction of a hedge, so hedging can add at most that fraction
+ * of extra load even when every call is slow.
+ *
+ * A call answering null is treated as failed; the other attempt, if any, is still awaited.
+ */
+class HedgedCalls {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HedgedCalls.class);
+    
+    private static final int SAMPLES = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final long BUDGET_UNIT = 1000;
+    
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+    
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long budgetPerCall;
+    private final long maxBudget;
+    
+    private final long[] samples = new long[SAMPLES];
+    private long sampleCount;
+    private volatile long delayNanos;
+    private final AtomicLong budget;
+    
+    private final Counter hedged;
+    private final Counter hedgeWon;
+    private final Counter budgetExhausted;
+    
+    HedgedCalls(String name,
+                double percentile,
+                long initialDelayMs,
+                long minDelayMs,
+                double budgetRatio,
+                int maxBurst,
+                MeterRegistry meterRegistry) {
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.delayNanos = Math.max(minDelayNanos, TimeUnit.MILLISECONDS.toNanos(initialDelayMs));
+        this.budgetPerCall = (long) (budgetRatio * BUDGET_UNIT);
+        this.maxBudget = maxBurst * BUDGET_UNIT;
+        this.budget = new AtomicLong(maxBudget);
+        
+        this.hedged = counter(meterRegistry, name, "hedged");
+        this.hedgeWon = counter(meterRegistry, name, "hedge_won");
+        this.budgetExhausted = counter(meterRegistry, name, "budget_exhausted");
+        Gauge.builder("hedging.delay", this, calls -> calls.delayNanos / 1_000_000.0)
+                .description("Current wait before a hedge is sent")
+                .tag("name", name)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+    
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("hedging.calls")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * @return the first non-null answer, or null if every attempt failed or the caller was interrupted
+     */
+    <T> T call(Supplier<T> attempt) {
+        topUpBudget();
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        Future<T> first = completion.submit(withContext(attempt));
+        Future<T> second = null;
+        try {
+            Future<T> done = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+            if (done == null) {
+                if (tryTakeHedge()) {
+                    hedged.increment();
+                    second = completion.submit(withContext(attempt));
+                } else {
+                    budgetExhausted.increment();
+                }
+                done = completion.take();
+            }
+            T result = resultOf(done);
+            if (result == null && second != null) {
+                // One attempt failed fast; the other may still succeed
+                done = completion.take();
+                result = resultOf(done);
+            }
+            if (result != null) {
+                // One sample per call, timed from the first attempt: when the hedge wins this is a lower
+                // bound on the first attempt, so slow calls are not dropped from the window
+                record(System.nanoTime() - start);
+                if (second != null && done == second) {
+                    hedgeWon.increment();
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+    
+    private <T> Callable<T> withContext(Supplier<T> attempt) {
+        // Carry the caller's trace and MDC into the attempt thread
+        return snapshots.captureAll().wrap((Callable<T>) attempt::get);
+    }
+    
+    private static <T> T resultOf(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            logger.debug("Hedged attempt failed: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+    
+    private synchronized void record(long latencyNanos) {
+        samples[(int) (sampleCount++ % SAMPLES)] = latencyNanos;
+        if (sampleCount % RECOMPUTE_EVERY == 0) {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(sampleCount, SAMPLES));
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+        }
+    }
+    
+    private void topUpBudget() {
+        budget.accumulateAndGet(budgetPerCall, (current, add) -> Math.min(maxBudget, current + add));
+    }
+    
+    private boolean tryTakeHedge() {
+        while (true) {
+            long current = budget.get();
+            if (current < BUDGET_UNIT) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - BUDGET_UNIT)) {
+                return true;
+            }
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.oms.order.client;
 
+import com.oms.order.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +16,8 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.Duration;
+
 /**
  * Client for communicating with Auth Service
  */
@@ -25,8 +31,34 @@ public class UserServiceClient {
     
     private final RestTemplate restTemplate;
     
-    public UserServiceClient(RestTemplate restTemplate) {
+    // Concurrent requests with the same token share one call to the Auth Service
+    private final SingleFlight<String, UserDetails> userDetailsCalls;
+    private final SingleFlight<String, Boolean> validateCalls;
+    
+    private final ObservationRegistry observationRegistry;
+    
+    // Null unless auth.service.hedging.enabled; only useful with several auth-service instances behind the URL
+    private final HedgedCalls hedgedUserDetails;
+    
+    public UserServiceClient(RestTemplate restTemplate,
+                             MeterRegistry meterRegistry,
+                             ObservationRegistry observationRegistry,
+                             @Value("${auth.service.single-flight-timeout-ms:3000}") long singleFlightTimeoutMs,
+                             @Value("${auth.service.hedging.enabled:false}") boolean hedgingEnabled,
+                             @Value("${auth.service.hedging.percentile:0.95}") double hedgingPercentile,
+                             @Value("${auth.service.hedging.initial-delay-ms:100}") long hedgingInitialDelayMs,
+                             @Value("${auth.service.hedging.min-delay-ms:10}") long hedgingMinDelayMs,
+                             @Value("${auth.service.hedging.budget-ratio:0.1}") double hedgingBudgetRatio,
+                             @Value("${auth.service.hedging.max-burst:10}") int hedgingMaxBurst) {
         this.restTemplate = restTemplate;
+        this.observationRegistry = observationRegistry;
+        Duration timeout = Duration.ofMillis(singleFlightTimeoutMs);
+        this.userDetailsCalls = new SingleFlight<>("auth.user-details", timeout, meterRegistry);
+        this.validateCalls = new SingleFlight<>("auth.validate", timeout, meterRegistry);
+        this.hedgedUserDetails = hedgingEnabled
+            ? new HedgedCalls("auth.user-details", hedgingPercentile, hedgingInitialDelayMs,
+                hedgingMinDelayMs, hedgingBudgetRatio, hedgingMaxBurst, meterRegistry)
+            : null;
     }
     
     /**
@@ -35,6 +67,16 @@ public class UserServiceClient {
      * @return UserDetails or null if failed
      */
     public UserDetails getUserDetails(String token) {
+        // Spans the whole lookup including any wait on a coalesced call; the HTTP span sits below it
+        return Observation.createNotStarted("auth.client", observationRegistry)
+            .contextualName("auth get-user-details")
+            .lowCardinalityKeyValue("operation", "user-details")
+            .observe(() -> userDetailsCalls.execute(token, () -> hedgedUserDetails != null
+                ? hedgedUserDetails.call(() -> fetchUserDetails(token))
+                : fetchUserDetails(token)));
+    }
+    
+    private UserDetails fetchUserDetails(String token) {
         try {
             String url = authServiceUrl + "/api/auth/me";
             
@@ -54,6 +96,11 @@ public class UserServiceClient {
             return response.getBody();
             
         } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // The losing attempt of a hedged lookup
+                logger.debug("User details lookup cancelled");
+                return null;
+            }
             logger.error("Failed to get user details from auth service: {}", e.getMessage());
             return null;
         }
@@ -65,6 +112,14 @@ public class UserServiceClient {
      * @return true if token is valid
      */
     public boolean validateToken(String token) {
+        Boolean valid = Observation.createNotStarted("auth.client", observationRegistry)
+            .contextualName("auth validate")
+            .lowCardinalityKeyValue("operation", "validate")
+            .observe(() -> validateCalls.execute(token, () -> fetchTokenValidity(token)));
+        return Boolean.TRUE.equals(valid);
+    }
+    
+    private boolean fetchTokenValidity(String token) {
         try {
             String url = authServiceUrl + "/api/auth/validate";
             
@@ -0,0 +1,213 @@
+package com.oms.order.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit for the order API (AIMD on observed latency)
+ *
+ * Requests in flight are capped by a limit that grows by one request per limit's worth of fast
+ * responses while the service is busy, and is cut by the backoff ratio when a response is slower
+ * than the latency threshold (at most once per threshold, so one slow burst counts once).
+ * Priority classes may only fill part of the limit: bulk and analytics calls are shed first, then
+ * reads, and writes last. Bulk calls are slow by nature, so their latency does not move the limit.
+ * Rejections are immediate 503s with Retry-After, before any auth or DB work.
+ *
+ * Runs ahead of the security chain and behind the server observation, so shed requests are traced.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyFilter.class);
+    
+    /**
+     * Share of the limit each class may occupy, lowest priority first
+     */
+    enum Priority {
+        BULK,
+        READ,
+        WRITE
+    }
+    
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Map<Priority, Double> shares = new EnumMap<>(Priority.class);
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+    
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    
+    public AdaptiveConcurrencyFilter(MeterRegistry meterRegistry,
+                                     @Value("${orders.concurrency.enabled:false}") boolean enabled,
+                                     @Value("${orders.concurrency.initial-limit:50}") int initialLimit,
+                                     @Value("${orders.concurrency.min-limit:10}") int minLimit,
+                                     @Value("${orders.concurrency.max-limit:200}") int maxLimit,
+                                     @Value("${orders.concurrency.latency-threshold-ms:500}") long latencyThresholdMs,
+                                     @Value("${orders.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                     @Value("${orders.concurrency.read-share:0.8}") double readShare,
+                                     @Value("${orders.concurrency.bulk-share:0.5}") double bulkShare) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.lastDecreaseNanos = System.nanoTime();
+        shares.put(Priority.BULK, bulkShare);
+        shares.put(Priority.READ, readShare);
+        shares.put(Priority.WRITE, 1.0);
+        
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("orders.concurrency.rejected")
+                    .description("Requests shed with 503 by the adaptive concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("orders.concurrency.limit", this, filter -> filter.limit).register(meterRegistry);
+        Gauge.builder("orders.concurrency.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+            || !path.startsWith("/api/orders")
+            || path.equals("/api/orders/health")
+            // Long-lived streams would hold a slot for their whole lifetime
+            || path.startsWith("/api/orders/stream")
+            || "OPTIONS".equals(request.getMethod());
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        
+        Priority priority = classify(request);
+        if (!tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            logger.debug("Shedding {} {} ({} in flight, limit {})",
+                request.getMethod(), request.getRequestURI(), inFlight.get(), (int) limit);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Service is overloaded, retry shortly\"}");
+            return;
+        }
+        
+        long started = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async endpoints hold their slot until the response is actually done
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(released, started, priority, false);
+                    }
+                    
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release(released, started, priority, true);
+                    }
+                    
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release(released, started, priority, false);
+                    }
+                    
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release(released, started, priority, false);
+            }
+        }
+    }
+    
+    private static Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.startsWith("/api/orders/analytics") || path.startsWith("/api/orders/insights")
+                || ("PUT".equals(method) && path.equals("/api/orders/status"))) {
+            return Priority.BULK;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? Priority.READ : Priority.WRITE;
+    }
+    
+    private boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * shares.get(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    private void release(AtomicBoolean released, long started, Priority priority, boolean timedOut) {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        int busy = inFlight.getAndDecrement();
+        if (priority == Priority.BULK) {
+            // Analytics and bulk updates routinely run past the threshold; they would shrink the limit for everyone
+            return;
+        }
+        long now = System.nanoTime();
+        onSample(now - started, busy, timedOut, now);
+    }
+    
+    /**
+     * @param latencyNanos time the request held its slot
+     * @param inFlightAtEnd requests in flight including this one
+     */
+    private synchronized void onSample(long latencyNanos, int inFlightAtEnd, boolean timedOut, long now) {
+        if (timedOut || latencyNanos > latencyThresholdNanos) {
+            if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightAtEnd * 2 >= limit) {
+            // Only grow while the limit is actually being used; an idle service learns nothing
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.oms.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for asynchronous request processing
+ * Provides a bounded executor so async endpoints don't hold Tomcat threads during I/O waits
+ */
+@Configuration
+public class AsyncConfig {
+    
+    @Value("${async.core-pool-size:8}")
+    private int corePoolSize;
+    
+    @Value("${async.max-pool-size:32}")
+    private int maxPoolSize;
+    
+    @Value("${async.queue-capacity:200}")
+    private int queueCapacity;
+    
+    /**
+     * Task executor for async order endpoints
+     * Bounded queue: when full, submissions are rejected instead of piling up
+     */
+    @Bean(name = "orderTaskExecutor")
+    public Executor orderTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("Order-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        // Tasks run in the submitting request's trace
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.oms.order.config;
+
+import com.oms.order.service.OrderEventKeyStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Built-in record key strategies for order events, selected by kafka.partitioning.key
+ */
+@Configuration
+public class KafkaPartitioningConfig {
+    
+    @Bean(name = "user-id")
+    public OrderEventKeyStrategy userIdKeyStrategy() {
+        return OrderEventKeyStrategy.BY_USER_ID;
+    }
+    
+    @Bean(name = "order-id")
+    public OrderEventKeyStrategy orderIdKeyStrategy() {
+        return OrderEventKeyStrategy.BY_ORDER_ID;
+    }
+}
@@ -0,0 +1,67 @@
+package com.oms.order.config;
+
+import com.oms.order.dto.OrderEventDto;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Idempotent, optionally transactional producer for order events
+ *
+ * The transactional id prefix must be unique per instance and stable across its restarts so a
+ * restarted instance fences its own zombie producer. Without HOSTNAME it falls back to a random
+ * per-process ID rather than a shared one, which would fence other instances.
+ *
+ * No KafkaTransactionManager is registered: the JPA transaction manager stays the only one, and
+ * KafkaProducerService ties each Kafka transaction to the DB commit through a transaction synchronization.
+ */
+@Configuration
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class KafkaProducerConfig {
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Value("${kafka.producer.transactional:true}")
+    private boolean transactional;
+    
+    @Value("${kafka.producer.transaction-id-prefix:order-service-${HOSTNAME:${random.uuid}}-}")
+    private String transactionIdPrefix;
+    
+    @Bean
+    public ProducerFactory<String, OrderEventDto> producerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // Broker de-duplicates retried batches; ordering is kept with up to 5 in-flight requests
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 30000);
+        
+        DefaultKafkaProducerFactory<String, OrderEventDto> factory = new DefaultKafkaProducerFactory<>(configProps);
+        if (transactional) {
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return factory;
+    }
+    
+    @Bean
+    public KafkaTemplate<String, OrderEventDto> kafkaTemplate(ProducerFactory<String, OrderEventDto> producerFactory) {
+        KafkaTemplate<String, OrderEventDto> template = new KafkaTemplate<>(producerFactory);
+        // Producer spans, with the trace context written to the record headers
+        template.setObservationEnabled(true);
+        return template;
+    }
+}
@@ -0,0 +1,153 @@
+package com.oms.order.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user, per-endpoint rate limiting for the order API
+ *
+ * Each (user, method, path template) pair gets a token bucket implemented as GCRA: the whole
+ * bucket state is one "theoretical arrival time" updated with a CAS, so there are no locks and
+ * no refill thread. A bucket that has fully refilled carries no information, so the periodic
+ * sweep drops it and idle users cost nothing.
+ *
+ * Runs after JwtAuthenticationFilter; unauthenticated requests are left to the security rules.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    
+    private final boolean enabled;
+    private final Limit readLimit;
+    private final Limit writeLimit;
+    
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.read.per-second:20}") double readPerSecond,
+                           @Value("${rate-limit.read.burst:40}") int readBurst,
+                           @Value("${rate-limit.write.per-second:5}") double writePerSecond,
+                           @Value("${rate-limit.write.burst:10}") int writeBurst) {
+        this.enabled = enabled;
+        this.readLimit = new Limit(readPerSecond, readBurst);
+        this.writeLimit = new Limit(writePerSecond, writeBurst);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+            || !path.startsWith("/api/orders")
+            || path.equals("/api/orders/health")
+            || "OPTIONS".equals(request.getMethod());
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        String method = request.getMethod();
+        Limit limit = "GET".equals(method) || "HEAD".equals(method) ? readLimit : writeLimit;
+        String key = authentication.getName() + '|' + method + ' ' + pathTemplate(request.getRequestURI());
+        
+        long waitNanos = acquire(buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE)), limit, System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            logger.debug("Rate limit exceeded for {} (retry after {}s)", key, retryAfterSeconds);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests, retry after " + retryAfterSeconds + "s\"}");
+            return;
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * Try to take one token
+     * @return 0 if allowed, otherwise nanoseconds until a token is available
+     */
+    static long acquire(AtomicLong theoreticalArrival, Limit limit, long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, now);
+            long excess = base - now - limit.toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Drop buckets that have fully refilled; they are indistinguishable from new ones
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        // A request racing with the removal may go uncharged once; that's the price of staying lock-free
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+        if (before > 0) {
+            logger.debug("Rate limit sweep: {} -> {} tracked buckets", before, buckets.size());
+        }
+    }
+    
+    /**
+     * Collapse numeric path segments so /api/orders/42 and /api/orders/43 share a bucket
+     */
+    private static String pathTemplate(String path) {
+        StringBuilder template = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/');
+            template.append(segment.chars().allMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return template.toString();
+    }
+    
+    /**
+     * Sustained rate plus burst size, as GCRA emission interval and tolerance
+     */
+    static final class Limit {
+        final long intervalNanos;
+        final long toleranceNanos;
+        
+        Limit(double perSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.oms.order.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background maintenance jobs (partition upkeep, order archival)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
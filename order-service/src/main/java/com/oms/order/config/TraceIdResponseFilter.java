@@ -0,0 +1,39 @@
+package com.oms.order.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Returns the request's trace ID as X-Trace-Id so a slow response can be looked up in /actuator/traces
+ */
+@Component
+public class TraceIdResponseFilter extends OncePerRequestFilter {
+    
+    private final Tracer tracer;
+    
+    public TraceIdResponseFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        // Runs inside the server observation, so the request span is current
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            response.setHeader("X-Trace-Id", span.context().traceId());
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,248 @@
+package com.oms.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.CreateOrderRequestDto;
+import com.oms.order.dto.OrderEventDto;
+import com.oms.order.dto.OrderResponseDto;
+import com.oms.order.entity.Money;
+import com.oms.order.entity.Order;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.repository.OrderRepository;
+import com.oms.order.service.OrderService;
+import com.oms.order.service.UserOrderReadModel;
+import com.oms.order.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the instance up before it reports ready
+ *
+ * Application runners finish before Boot flips readiness to ACCEPTING_TRAFFIC, so the load balancer
+ * only sends traffic once this is done. Steps run in order until the time budget is spent: open the
+ * DB and auth-service connection pools, run the DTO, JSON, validation and JWT code paths often
+ * enough for the JIT to compile them, then load the most active users into the read model.
+ * A failing step is logged and skipped; warm-up never stops the instance from starting.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+    
+    private final DataSource dataSource;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JwtUtil jwtUtil;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    
+    @Autowired(required = false)
+    private UserOrderReadModel userOrderReadModel;
+    
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${warmup.budget-ms:20000}")
+    private long budgetMs;
+    
+    @Value("${warmup.db-connections:10}")
+    private int dbConnections;
+    
+    @Value("${warmup.http-connections:5}")
+    private int httpConnections;
+    
+    @Value("${warmup.iterations:5000}")
+    private int iterations;
+    
+    @Value("${warmup.preload-users:500}")
+    private int preloadUsers;
+    
+    @Value("${warmup.preload-window-hours:24}")
+    private int preloadWindowHours;
+    
+    @Value("${auth.service.url:http://localhost:8081}")
+    private String authServiceUrl;
+    
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+    
+    public WarmUpRunner(DataSource dataSource,
+                        RestTemplate restTemplate,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        JwtUtil jwtUtil,
+                        OrderService orderService,
+                        OrderRepository orderRepository) {
+        this.dataSource = dataSource;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jwtUtil = jwtUtil;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        
+        step("db connections", deadline, this::openDbConnections);
+        step("auth connections", deadline, () -> openHttpConnections(deadline));
+        step("code paths", deadline, () -> exerciseCodePaths(deadline));
+        step("read model", deadline, () -> preloadActiveUsers(deadline));
+        
+        logger.info("Warm-up finished in {} ms (budget {} ms)",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), budgetMs);
+    }
+    
+    private void step(String name, long deadline, WarmUpStep step) {
+        if (System.nanoTime() >= deadline) {
+            logger.warn("Warm-up budget spent, skipping {}", name);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            String result = step.run();
+            logger.info("Warm-up {}: {} in {} ms", name, result,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            logger.warn("Warm-up {} failed: {}", name, e.getMessage());
+        }
+    }
+    
+    /**
+     * Hold several connections at once so the pool opens them now rather than on first traffic
+     */
+    private String openDbConnections() throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < dbConnections; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        // Also warms Hibernate's load path and the repository proxies
+        orderRepository.findById(-1L);
+        return connections.size() + " opened";
+    }
+    
+    /**
+     * Parallel calls so the HTTP client keeps several live connections to auth-service
+     */
+    private String openHttpConnections(long deadline) throws Exception {
+        String url = authServiceUrl + "/api/auth/health";
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < httpConnections; i++) {
+                calls.add(executor.submit(() -> restTemplate.getForEntity(url, String.class)));
+            }
+            int ok = 0;
+            for (Future<?> call : calls) {
+                try {
+                    call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    ok++;
+                } catch (Exception e) {
+                    call.cancel(true);
+                }
+            }
+            return ok + "/" + httpConnections + " calls succeeded";
+        }
+    }
+    
+    /**
+     * Run the hot request paths on synthetic data until the JIT has seen them enough
+     */
+    private String exerciseCodePaths(long deadline) throws Exception {
+        String token = Jwts.builder()
+                .subject("warmup")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+        LocalDateTime now = LocalDateTime.now();
+        
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            Order order = new Order();
+            order.setId((long) done);
+            order.setUserId((long) (done % 100));
+            order.setProductName("warmup-" + done);
+            order.setQuantity(1 + done % 5);
+            order.setPrice(Money.ofMinor(1999));
+            order.setTotalAmount(Money.ofMinor(1999).times(1 + done % 5));
+            order.setStatus(OrderStatus.values()[done % OrderStatus.values().length]);
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            
+            OrderResponseDto dto = orderService.convertToDto(order);
+            objectMapper.readValue(objectMapper.writeValueAsString(dto), OrderResponseDto.class);
+            
+            OrderEventDto event = new OrderEventDto(dto.getId(), dto.getUserId(), dto.getProductName(),
+                dto.getQuantity(), dto.getTotalAmount(), dto.getStatus(), "ORDER_CREATED");
+            objectMapper.readValue(objectMapper.writeValueAsString(event), OrderEventDto.class);
+            
+            CreateOrderRequestDto request = objectMapper.readValue(
+                "{\"productName\":\"warmup\",\"quantity\":2,\"price\":19.99}", CreateOrderRequestDto.class);
+            validator.validate(request);
+            
+            jwtUtil.isTokenValid(token, jwtUtil.extractUsername(token));
+            done++;
+        }
+        return done + " iterations";
+    }
+    
+    /**
+     * Fill the read model with the users who ordered most recently, busiest first
+     */
+    private String preloadActiveUsers(long deadline) {
+        if (userOrderReadModel == null) {
+            return "read model disabled";
+        }
+        List<Long> userIds = orderRepository.findMostActiveUserIds(
+            LocalDateTime.now().minusHours(preloadWindowHours), PageRequest.of(0, preloadUsers));
+        int loaded = 0;
+        for (Long userId : userIds) {
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            orderService.preloadOrdersByUser(userId);
+            loaded++;
+        }
+        return loaded + "/" + userIds.size() + " users loaded";
+    }
+    
+    @FunctionalInterface
+    private interface WarmUpStep {
+        String run() throws Exception;
+    }
+}
@@ -0,0 +1,60 @@
+package com.oms.order.controller;
+
+import com.oms.order.dto.OrderRollupDto;
+import com.oms.order.dto.OrderRollupSummaryDto;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.entity.RollupGranularity;
+import com.oms.order.service.OrderAnalyticsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Order analytics served from the rollup tables
+ */
+@RestController
+@RequestMapping("/api/orders/analytics")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnProperty(name = "orders.analytics.enabled", havingValue = "true")
+public class OrderAnalyticsController {
+    
+    private final OrderAnalyticsService analyticsService;
+    
+    public OrderAnalyticsController(OrderAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+    
+    @GetMapping("/rollups")
+    public ResponseEntity<List<OrderRollupDto>> getRollups(
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String productName,
+            @RequestParam(required = false) OrderStatus status) {
+        return ResponseEntity.ok(analyticsService.getRollups(granularity, from, to, productName, status));
+    }
+    
+    /**
+     * Revenue per product: by default totals of orders placed (entered PENDING) in the range
+     */
+    @GetMapping("/products")
+    public ResponseEntity<List<OrderRollupSummaryDto>> getProductSummary(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "PENDING") OrderStatus status) {
+        return ResponseEntity.ok(analyticsService.getProductSummary(granularity, from, to, status));
+    }
+    
+    @GetMapping("/statuses")
+    public ResponseEntity<List<OrderRollupSummaryDto>> getStatusSummary(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(analyticsService.getStatusSummary(granularity, from, to));
+    }
+}
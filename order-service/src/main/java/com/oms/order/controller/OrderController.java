@@ -1,17 +1,27 @@
 package com.oms.order.controller;
 
+import com.oms.order.dto.BulkStatusUpdateRequestDto;
+import com.oms.order.dto.BulkStatusUpdateResponseDto;
 import com.oms.order.dto.CreateOrderRequestDto;
+import com.oms.order.dto.OrderLookupDto;
 import com.oms.order.dto.OrderResponseDto;
+import com.oms.order.dto.OrderStatusHistoryDto;
 import com.oms.order.entity.OrderStatus;
+import com.oms.order.service.AsyncOrderService;
 import com.oms.order.service.OrderService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -19,9 +29,11 @@ import java.util.List;
 public class OrderController {
     
     private final OrderService orderService;
+    private final AsyncOrderService asyncOrderService;
     
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, AsyncOrderService asyncOrderService) {
         this.orderService = orderService;
+        this.asyncOrderService = asyncOrderService;
     }
     
     @PostMapping
@@ -45,6 +57,17 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
     
+    @GetMapping("/batch")
+    public ResponseEntity<List<OrderLookupDto>> getOrdersByIds(
+            @RequestParam List<Long> ids,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        List<OrderLookupDto> orders = orderService.getOrdersByIds(ids, username, token);
+        return ResponseEntity.ok(orders);
+    }
+    
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponseDto> getOrderById(
             @PathVariable Long orderId,
@@ -68,6 +91,18 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
     
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponseDto> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkStatusUpdateRequestDto request,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        BulkStatusUpdateResponseDto response = orderService.bulkUpdateStatus(
+            request.getOrderIds(), request.getStatus(), username, token);
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/{orderId}")
     public ResponseEntity<Void> cancelOrder(
             @PathVariable Long orderId,
@@ -79,6 +114,70 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
     
+    @GetMapping("/{orderId}/history")
+    public ResponseEntity<List<OrderStatusHistoryDto>> getOrderHistory(
+            @PathVariable Long orderId,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        List<OrderStatusHistoryDto> history = orderService.getOrderHistory(orderId, username, token);
+        return ResponseEntity.ok(history);
+    }
+    
+    @GetMapping("/{orderId}/as-of")
+    public ResponseEntity<OrderResponseDto> getOrderStateAsOf(
+            @PathVariable Long orderId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        OrderResponseDto order = orderService.getOrderStateAsOf(orderId, timestamp, username, token);
+        return ResponseEntity.ok(order);
+    }
+    
+    @PostMapping("/async")
+    public DeferredResult<ResponseEntity<OrderResponseDto>> createOrderAsync(
+            @Valid @RequestBody CreateOrderRequestDto request,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        // 0 = no async timeout: a timed-out create still commits, so a 503 would invite a duplicate retry
+        DeferredResult<ResponseEntity<OrderResponseDto>> result = new DeferredResult<>(0L);
+        asyncOrderService.createOrder(request, username, token).whenComplete((response, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                result.setResult(ResponseEntity.status(HttpStatus.CREATED).body(response));
+            }
+        });
+        return result;
+    }
+    
+    @GetMapping("/async")
+    public CompletableFuture<ResponseEntity<List<OrderResponseDto>>> getMyOrdersAsync(
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        return asyncOrderService.getOrdersByUser(username, token)
+                .thenApply(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/async/{orderId}")
+    public CompletableFuture<ResponseEntity<OrderResponseDto>> getOrderByIdAsync(
+            @PathVariable Long orderId,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String token = extractTokenFromRequest(httpRequest);
+        String username = authentication.getName();
+        return asyncOrderService.getOrderById(orderId, username, token)
+                .thenApply(ResponseEntity::ok);
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Order Service is running!");
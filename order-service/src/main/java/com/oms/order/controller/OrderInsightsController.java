@@ -0,0 +1,28 @@
+package com.oms.order.controller;
+
+import com.oms.order.dto.OrderInsightsDto;
+import com.oms.order.service.OrderStreamSketches;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Live approximate order insights from the stream sketches
+ */
+@RestController
+@RequestMapping("/api/orders/insights")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnProperty(name = "orders.sketches.enabled", havingValue = "true")
+public class OrderInsightsController {
+    
+    private final OrderStreamSketches sketches;
+    
+    public OrderInsightsController(OrderStreamSketches sketches) {
+        this.sketches = sketches;
+    }
+    
+    @GetMapping
+    public ResponseEntity<OrderInsightsDto> getInsights(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(sketches.snapshot(Math.max(1, limit)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.oms.order.controller;
+
+import com.oms.order.service.OrderChangeStream;
+import com.oms.order.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of the caller's order changes, replacing polling of GET /api/orders/{orderId}
+ */
+@RestController
+@RequestMapping("/api/orders/stream")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnProperty(name = "orders.stream.enabled", havingValue = "true")
+public class OrderStreamController {
+    
+    private final OrderChangeStream orderChangeStream;
+    private final OrderService orderService;
+    
+    public OrderStreamController(OrderChangeStream orderChangeStream, OrderService orderService) {
+        this.orderChangeStream = orderChangeStream;
+        this.orderService = orderService;
+    }
+    
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderChanges(
+            @RequestParam(required = false) Long orderId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        String bearerToken = httpRequest.getHeader("Authorization");
+        String token = bearerToken != null && bearerToken.startsWith("Bearer ") ? bearerToken.substring(7) : null;
+        Long userId = orderService.getUserIdFromToken(token, authentication.getName());
+        return orderChangeStream.subscribe(userId, orderId, lastEventId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.oms.order.controller;
+
+import com.oms.order.dto.CreateOrderRequestDto;
+import com.oms.order.dto.OrderSubmissionDto;
+import com.oms.order.service.OrderService;
+import com.oms.order.submission.OrderSubmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Asynchronous order creation: 202 once the order is journaled, then poll the status URL
+ */
+@RestController
+@RequestMapping("/api/orders/submissions")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnProperty(name = "orders.submissions.enabled", havingValue = "true")
+public class OrderSubmissionController {
+    
+    private final OrderSubmissionService orderSubmissionService;
+    private final OrderService orderService;
+    
+    public OrderSubmissionController(OrderSubmissionService orderSubmissionService, OrderService orderService) {
+        this.orderSubmissionService = orderSubmissionService;
+        this.orderService = orderService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<OrderSubmissionDto> submitOrder(
+            @Valid @RequestBody CreateOrderRequestDto request,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        Long userId = orderService.getUserIdFromToken(extractTokenFromRequest(httpRequest), authentication.getName());
+        OrderSubmissionDto submission = orderSubmissionService.submit(request, userId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/submissions/" + submission.getSubmissionId()))
+                .body(submission);
+    }
+    
+    @GetMapping("/{submissionId}")
+    public ResponseEntity<OrderSubmissionDto> getSubmission(
+            @PathVariable Long submissionId,
+            HttpServletRequest httpRequest,
+            Authentication authentication) {
+        Long userId = orderService.getUserIdFromToken(extractTokenFromRequest(httpRequest), authentication.getName());
+        return ResponseEntity.ok(orderSubmissionService.getSubmission(submissionId, userId));
+    }
+    
+    private String extractTokenFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
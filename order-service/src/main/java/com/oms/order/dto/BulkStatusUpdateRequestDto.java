@@ -0,0 +1,31 @@
+package com.oms.order.dto;
+
+import com.oms.order.entity.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequestDto {
+    
+    @NotEmpty(message = "Order IDs are required")
+    private List<@NotNull Long> orderIds;
+    
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+    
+    // Constructors
+    public BulkStatusUpdateRequestDto() {}
+    
+    public BulkStatusUpdateRequestDto(List<Long> orderIds, OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public List<Long> getOrderIds() { return orderIds; }
+    public void setOrderIds(List<Long> orderIds) { this.orderIds = orderIds; }
+    
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+}
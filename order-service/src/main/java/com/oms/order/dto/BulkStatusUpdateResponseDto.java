@@ -0,0 +1,74 @@
+package com.oms.order.dto;
+
+import com.oms.order.entity.OrderStatus;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-order outcome of a bulk status transition, in request order
+ */
+public class BulkStatusUpdateResponseDto {
+    
+    public enum Outcome {
+        UPDATED,
+        // Already in the target status
+        UNCHANGED,
+        // Not in the live orders table (never existed or already archived)
+        NOT_FOUND,
+        // Belongs to another user
+        FORBIDDEN
+    }
+    
+    private OrderStatus status;
+    private Map<Outcome, Integer> counts;
+    private List<Result> results;
+    
+    // Constructors
+    public BulkStatusUpdateResponseDto() {}
+    
+    public BulkStatusUpdateResponseDto(OrderStatus status, List<Result> results) {
+        this.status = status;
+        this.results = results;
+        this.counts = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            counts.put(outcome, 0);
+        }
+        results.forEach(result -> counts.merge(result.getOutcome(), 1, Integer::sum));
+    }
+    
+    // Getters and Setters
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    
+    public Map<Outcome, Integer> getCounts() { return counts; }
+    public void setCounts(Map<Outcome, Integer> counts) { this.counts = counts; }
+    
+    public List<Result> getResults() { return results; }
+    public void setResults(List<Result> results) { this.results = results; }
+    
+    public static class Result {
+        
+        private Long orderId;
+        private Outcome outcome;
+        private OrderStatus previousStatus;
+        
+        public Result() {}
+        
+        public Result(Long orderId, Outcome outcome, OrderStatus previousStatus) {
+            this.orderId = orderId;
+            this.outcome = outcome;
+            this.previousStatus = previousStatus;
+        }
+        
+        public Long getOrderId() { return orderId; }
+        public void setOrderId(Long orderId) { this.orderId = orderId; }
+        
+        public Outcome getOutcome() { return outcome; }
+        public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+        
+        public OrderStatus getPreviousStatus() { return previousStatus; }
+        public void setPreviousStatus(OrderStatus previousStatus) { this.previousStatus = previousStatus; }
+    }
+}
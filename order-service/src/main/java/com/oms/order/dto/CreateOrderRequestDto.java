@@ -1,12 +1,13 @@
 package com.oms.order.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.oms.order.entity.Money;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
-import java.math.BigDecimal;
-
 public class CreateOrderRequestDto {
     
     @NotBlank(message = "Product name is required")
@@ -18,13 +19,12 @@ public class CreateOrderRequestDto {
     private Integer quantity;
     
     @NotNull(message = "Price is required")
-    @Positive(message = "Price must be positive")
-    private BigDecimal price;
+    private Money price;
     
     // Constructors
     public CreateOrderRequestDto() {}
     
-    public CreateOrderRequestDto(String productName, Integer quantity, BigDecimal price) {
+    public CreateOrderRequestDto(String productName, Integer quantity, Money price) {
         this.productName = productName;
         this.quantity = quantity;
         this.price = price;
@@ -37,6 +37,13 @@ public class CreateOrderRequestDto {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
     
-    public BigDecimal getPrice() { return price; }
-    public void setPrice(BigDecimal price) { this.price = price; }
+    public Money getPrice() { return price; }
+    public void setPrice(Money price) { this.price = price; }
+    
+    // @Positive doesn't apply to Money
+    @JsonIgnore
+    @AssertTrue(message = "Price must be positive")
+    public boolean isPricePositive() {
+        return price == null || price.isPositive();
+    }
 }
\ No newline at end of file
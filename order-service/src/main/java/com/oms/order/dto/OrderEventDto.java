@@ -1,10 +1,10 @@
 package com.oms.order.dto;
 
+import com.oms.order.entity.Money;
 import com.oms.order.entity.OrderStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class OrderEventDto {
@@ -21,8 +21,11 @@ public class OrderEventDto {
     @JsonProperty("quantity")
     private Integer quantity;
     
+    @JsonProperty("price")
+    private Money price;
+    
     @JsonProperty("totalAmount")
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @JsonProperty("status")
     private OrderStatus status; 
@@ -34,13 +37,20 @@ public class OrderEventDto {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime timestamp;
     
+    // Order row timestamps, so consumers can rebuild the full order view and order updates
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+    
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+    
     // Constructors
     public OrderEventDto() {
         this.timestamp = LocalDateTime.now();
     }
     
     public OrderEventDto(Long orderId, Long userId, String productName, Integer quantity, 
-                        BigDecimal totalAmount, OrderStatus status, String eventType) {
+                        Money totalAmount, OrderStatus status, String eventType) {
         this.orderId = orderId;
         this.userId = userId;
         this.productName = productName;
@@ -64,8 +74,11 @@ public class OrderEventDto {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
     
-    public BigDecimal getTotalAmount() { return totalAmount; }
-    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Money getPrice() { return price; }
+    public void setPrice(Money price) { this.price = price; }
+    
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
     
     public OrderStatus getStatus() { return status; }
     public void setStatus(OrderStatus status) { this.status = status; }
@@ -76,6 +89,12 @@ public class OrderEventDto {
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
     @Override
     public String toString() {
         return "OrderEventDto{" +
@@ -0,0 +1,30 @@
+package com.oms.order.dto;
+
+import com.oms.order.sketch.TopK;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Approximate top products and distinct buyers from the order stream sketches
+ */
+public class OrderInsightsDto {
+    
+    private List<TopK.Entry<String>> topProducts;
+    private long distinctBuyers;
+    private long productErrorBound;
+    private LocalDateTime windowStartedAt;
+    
+    // Getters and Setters
+    public List<TopK.Entry<String>> getTopProducts() { return topProducts; }
+    public void setTopProducts(List<TopK.Entry<String>> topProducts) { this.topProducts = topProducts; }
+    
+    public long getDistinctBuyers() { return distinctBuyers; }
+    public void setDistinctBuyers(long distinctBuyers) { this.distinctBuyers = distinctBuyers; }
+    
+    public long getProductErrorBound() { return productErrorBound; }
+    public void setProductErrorBound(long productErrorBound) { this.productErrorBound = productErrorBound; }
+    
+    public LocalDateTime getWindowStartedAt() { return windowStartedAt; }
+    public void setWindowStartedAt(LocalDateTime windowStartedAt) { this.windowStartedAt = windowStartedAt; }
+}
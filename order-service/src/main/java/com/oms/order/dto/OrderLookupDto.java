@@ -0,0 +1,30 @@
+package com.oms.order.dto;
+
+/**
+ * One entry of a multi-get: the order, or found=false if it doesn't exist or isn't the caller's
+ */
+public class OrderLookupDto {
+    
+    private Long orderId;
+    private boolean found;
+    private OrderResponseDto order;
+    
+    // Constructors
+    public OrderLookupDto() {}
+    
+    public OrderLookupDto(Long orderId, boolean found, OrderResponseDto order) {
+        this.orderId = orderId;
+        this.found = found;
+        this.order = order;
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+    
+    public OrderResponseDto getOrder() { return order; }
+    public void setOrder(OrderResponseDto order) { this.order = order; }
+}
@@ -1,8 +1,8 @@
 package com.oms.order.dto;
 
+import com.oms.order.entity.Money;
 import com.oms.order.entity.OrderStatus;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class OrderResponseDto {
@@ -11,8 +11,8 @@ public class OrderResponseDto {
     private Long userId;
     private String productName;
     private Integer quantity;
-    private BigDecimal price;
-    private BigDecimal totalAmount;
+    private Money price;
+    private Money totalAmount;
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -21,7 +21,7 @@ public class OrderResponseDto {
     public OrderResponseDto() {}
     
     public OrderResponseDto(Long id, Long userId, String productName, Integer quantity, 
-                           BigDecimal price, BigDecimal totalAmount, OrderStatus status,
+                           Money price, Money totalAmount, OrderStatus status,
                            LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.userId = userId;
@@ -47,11 +47,11 @@ public class OrderResponseDto {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
     
-    public BigDecimal getPrice() { return price; }
-    public void setPrice(BigDecimal price) { this.price = price; }
+    public Money getPrice() { return price; }
+    public void setPrice(Money price) { this.price = price; }
     
-    public BigDecimal getTotalAmount() { return totalAmount; }
-    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
     
     public OrderStatus getStatus() { return status; }
     public void setStatus(OrderStatus status) { this.status = status; }
@@ -0,0 +1,54 @@
+package com.oms.order.dto;
+
+import com.oms.order.entity.Money;
+import com.oms.order.entity.OrderRollup;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.entity.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+public class OrderRollupDto {
+    
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+    private String productName;
+    private OrderStatus status;
+    private long orderCount;
+    private long quantity;
+    private Money totalAmount;
+    
+    // Constructors
+    public OrderRollupDto() {}
+    
+    public OrderRollupDto(OrderRollup rollup) {
+        this.granularity = rollup.getGranularity();
+        this.bucketStart = rollup.getBucketStart();
+        this.productName = rollup.getProductName();
+        this.status = rollup.getStatus();
+        this.orderCount = rollup.getOrderCount();
+        this.quantity = rollup.getQuantity();
+        this.totalAmount = Money.ofMinor(rollup.getTotalAmountMinor());
+    }
+    
+    // Getters and Setters
+    public RollupGranularity getGranularity() { return granularity; }
+    public void setGranularity(RollupGranularity granularity) { this.granularity = granularity; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+    
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
+}
@@ -0,0 +1,42 @@
+package com.oms.order.dto;
+
+import com.oms.order.entity.Money;
+import com.oms.order.entity.OrderStatus;
+
+/**
+ * Rollup totals for one product or one status over a time range
+ */
+public class OrderRollupSummaryDto {
+    
+    private String key;
+    private long orderCount;
+    private long quantity;
+    private Money totalAmount;
+    
+    // Constructors
+    public OrderRollupSummaryDto() {}
+    
+    public OrderRollupSummaryDto(String key, Long orderCount, Long quantity, Long totalAmountMinor) {
+        this.key = key;
+        this.orderCount = orderCount;
+        this.quantity = quantity;
+        this.totalAmount = Money.ofMinor(totalAmountMinor);
+    }
+    
+    public OrderRollupSummaryDto(OrderStatus status, Long orderCount, Long quantity, Long totalAmountMinor) {
+        this(status.name(), orderCount, quantity, totalAmountMinor);
+    }
+    
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+    
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
+}
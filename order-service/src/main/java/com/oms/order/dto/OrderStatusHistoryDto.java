@@ -0,0 +1,36 @@
+package com.oms.order.dto;
+
+import com.oms.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+public class OrderStatusHistoryDto {
+    
+    private Long orderId;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private LocalDateTime changedAt;
+    
+    // Constructors
+    public OrderStatusHistoryDto() {}
+    
+    public OrderStatusHistoryDto(Long orderId, OrderStatus fromStatus, OrderStatus toStatus, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public void setFromStatus(OrderStatus fromStatus) { this.fromStatus = fromStatus; }
+    
+    public OrderStatus getToStatus() { return toStatus; }
+    public void setToStatus(OrderStatus toStatus) { this.toStatus = toStatus; }
+    
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,43 @@
+package com.oms.order.dto;
+
+/**
+ * State of an order accepted through POST /api/orders/submissions
+ */
+public class OrderSubmissionDto {
+    
+    public enum Status {
+        // Journaled locally, not yet in the database
+        QUEUED,
+        PERSISTED,
+        // Rejected by the database; the order will not be created
+        FAILED
+    }
+    
+    private Long submissionId;
+    private Status status;
+    private Long orderId;
+    private String error;
+    
+    // Constructors
+    public OrderSubmissionDto() {}
+    
+    public OrderSubmissionDto(Long submissionId, Status status, Long orderId, String error) {
+        this.submissionId = submissionId;
+        this.status = status;
+        this.orderId = orderId;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public Long getSubmissionId() { return submissionId; }
+    public void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,60 @@
+package com.oms.order.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Next order-events offset to apply to the rollups, per partition
+ * Updated in the same DB transaction as the rollups, so each event is counted exactly once
+ */
+@Entity
+@Table(name = "analytics_offsets")
+@IdClass(AnalyticsOffset.Key.class)
+public class AnalyticsOffset {
+    
+    @Id
+    @Column(length = 249)
+    private String topic;
+    
+    @Id
+    @Column(name = "partition_id")
+    private int partitionId;
+    
+    @Column(name = "next_offset", nullable = false)
+    private long nextOffset;
+    
+    // Constructors
+    public AnalyticsOffset() {}
+    
+    // Getters
+    public String getTopic() { return topic; }
+    public int getPartitionId() { return partitionId; }
+    public long getNextOffset() { return nextOffset; }
+    
+    public static class Key implements Serializable {
+        
+        private String topic;
+        private int partitionId;
+        
+        public Key() {}
+        
+        public Key(String topic, int partitionId) {
+            this.topic = topic;
+            this.partitionId = partitionId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return partitionId == key.partitionId && Objects.equals(topic, key.topic);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(topic, partitionId);
+        }
+    }
+}
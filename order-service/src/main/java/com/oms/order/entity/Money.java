@@ -0,0 +1,176 @@
+package com.oms.order.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount of money as a whole number of minor units (cents), scale 2
+ * Arithmetic is exact and overflow-checked. In JSON it is a plain decimal number (12.34), the same
+ * wire form the BigDecimal fields had, and it is parsed from the token text without BigDecimal.
+ */
+@JsonSerialize(using = Money.JsonWriter.class)
+@JsonDeserialize(using = Money.JsonReader.class)
+public record Money(long minorUnits) implements Comparable<Money> {
+    
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+    
+    private static final long MINOR_PER_MAJOR = 100;
+    
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+    
+    /**
+     * Exact conversion; amounts with more than two significant decimal places are rejected
+     * @throws ArithmeticException if the amount can't be represented exactly
+     */
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+    
+    /**
+     * Parse a plain decimal amount such as "12", "12.5" or "-0.99"
+     * @throws NumberFormatException if the text is not a plain decimal with at most two significant decimal places
+     * @throws ArithmeticException if the amount does not fit
+     */
+    public static Money parse(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        
+        long major = 0;
+        int integerDigits = 0;
+        for (; i < length && text.charAt(i) != '.'; i++, integerDigits++) {
+            major = Math.addExact(Math.multiplyExact(major, 10), digit(text, i));
+        }
+        
+        long minor = 0;
+        int fractionDigits = 0;
+        if (i < length) {
+            for (i++; i < length; i++, fractionDigits++) {
+                int digit = digit(text, i);
+                if (fractionDigits < SCALE) {
+                    minor = minor * 10 + digit;
+                } else if (digit != 0) {
+                    throw new NumberFormatException("More than " + SCALE + " decimal places: " + text);
+                }
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new NumberFormatException("Not an amount: '" + text + "'");
+        }
+        for (int scale = Math.min(fractionDigits, SCALE); scale < SCALE; scale++) {
+            minor *= 10;
+        }
+        
+        long total = Math.addExact(Math.multiplyExact(major, MINOR_PER_MAJOR), minor);
+        return new Money(negative ? -total : total);
+    }
+    
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Not an amount: '" + text + "'");
+        }
+        return c - '0';
+    }
+    
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+    
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+    
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor));
+    }
+    
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    /**
+     * Plain decimal with exactly two decimal places, e.g. "12.30"
+     */
+    @Override
+    public String toString() {
+        long major = Math.abs(minorUnits / MINOR_PER_MAJOR);
+        long minor = Math.abs(minorUnits % MINOR_PER_MAJOR);
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0) {
+            text.append('-');
+        }
+        text.append(major).append('.');
+        if (minor < 10) {
+            text.append('0');
+        }
+        return text.append(minor).toString();
+    }
+    
+    public static final class JsonWriter extends StdSerializer<Money> {
+        
+        public JsonWriter() {
+            super(Money.class);
+        }
+        
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.toString());
+        }
+    }
+    
+    public static final class JsonReader extends StdDeserializer<Money> {
+        
+        public JsonReader() {
+            super(Money.class);
+        }
+        
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                return (Money) context.handleUnexpectedToken(Money.class, parser);
+            }
+            String text = parser.getText().trim();
+            try {
+                if (text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+                    // Exponent notation is rare enough to take the slow path
+                    return of(new BigDecimal(text));
+                }
+                return parse(text);
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw InvalidFormatException.from(parser,
+                    "Not a valid amount (at most " + SCALE + " decimal places): " + e.getMessage(), text, Money.class);
+            }
+        }
+    }
+}
@@ -5,11 +5,16 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    // Expiry walks PENDING orders oldest first; also serves findByStatus and countByStatus
+    @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+    // A submission is stored once; created_at is the acceptance time, fixed across retries
+    // (and part of the key because a partitioned table's unique indexes must include it)
+    @Index(name = "uk_orders_submission", columnList = "submission_id, created_at", unique = true)
+})
 public class Order {
     
     @Id
@@ -31,13 +36,12 @@ public class Order {
     private Integer quantity;
     
     @NotNull(message = "Price is required")
-    @Positive(message = "Price must be positive")
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
     
     @NotNull(message = "Total amount is required")
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -49,34 +53,35 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Only set for orders accepted through POST /api/orders/submissions
+    @Column(name = "submission_id")
+    private Long submissionId;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         // Calculate total amount
         if (price != null && quantity != null) {
-            totalAmount = price.multiply(BigDecimal.valueOf(quantity));
+            totalAmount = price.times(quantity);
         }
     }
     
     @PreUpdate
     protected void onUpdate() {
+        // Price and quantity are fixed once the order exists, so the total set on insert stays valid
         updatedAt = LocalDateTime.now();
-        // Recalculate total amount
-        if (price != null && quantity != null) {
-            totalAmount = price.multiply(BigDecimal.valueOf(quantity));
-        }
     }
     
     // Constructors
     public Order() {}
     
-    public Order(Long userId, String productName, Integer quantity, BigDecimal price) {
+    public Order(Long userId, String productName, Integer quantity, Money price) {
         this.userId = userId;
         this.productName = productName;
         this.quantity = quantity;
         this.price = price;
-        this.totalAmount = price.multiply(BigDecimal.valueOf(quantity));
+        this.totalAmount = price.times(quantity);
     }
     
     // Getters and Setters
@@ -92,11 +97,11 @@ public class Order {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
     
-    public BigDecimal getPrice() { return price; }
-    public void setPrice(BigDecimal price) { this.price = price; }
+    public Money getPrice() { return price; }
+    public void setPrice(Money price) { this.price = price; }
     
-    public BigDecimal getTotalAmount() { return totalAmount; }
-    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
     
     public OrderStatus getStatus() { return status; }
     public void setStatus(OrderStatus status) { this.status = status; }
@@ -106,4 +111,7 @@ public class Order {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getSubmissionId() { return submissionId; }
+    public void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
 }
\ No newline at end of file
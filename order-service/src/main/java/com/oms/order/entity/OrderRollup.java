@@ -0,0 +1,98 @@
+package com.oms.order.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Orders that entered a status within one time bucket, per product
+ * Rows are maintained by OrderAnalyticsConsumer with additive upserts; nothing reads the orders table.
+ * The PENDING row of a bucket is what was ordered in it, the CANCELLED row what was cancelled in it.
+ */
+@Entity
+@Table(name = "order_rollups")
+@IdClass(OrderRollup.Key.class)
+public class OrderRollup {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private RollupGranularity granularity;
+    
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+    
+    @Id
+    @Column(name = "product_name")
+    private String productName;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+    
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+    
+    @Column(nullable = false)
+    private long quantity;
+    
+    // Minor units; see Money
+    @Column(name = "total_amount_minor", nullable = false)
+    private long totalAmountMinor;
+    
+    // Constructors
+    public OrderRollup() {}
+    
+    // Getters
+    public RollupGranularity getGranularity() { return granularity; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public String getProductName() { return productName; }
+    public OrderStatus getStatus() { return status; }
+    public long getOrderCount() { return orderCount; }
+    public long getQuantity() { return quantity; }
+    public long getTotalAmountMinor() { return totalAmountMinor; }
+    
+    /**
+     * Composite primary key; also the ON CONFLICT target of the upsert
+     */
+    public static class Key implements Serializable {
+        
+        private RollupGranularity granularity;
+        private LocalDateTime bucketStart;
+        private String productName;
+        private OrderStatus status;
+        
+        public Key() {}
+        
+        public Key(RollupGranularity granularity, LocalDateTime bucketStart, String productName, OrderStatus status) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+            this.productName = productName;
+            this.status = status;
+        }
+        
+        public RollupGranularity getGranularity() { return granularity; }
+        public LocalDateTime getBucketStart() { return bucketStart; }
+        public String getProductName() { return productName; }
+        public OrderStatus getStatus() { return status; }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return granularity == key.granularity
+                && Objects.equals(bucketStart, key.bucketStart)
+                && Objects.equals(productName, key.productName)
+                && status == key.status;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, bucketStart, productName, status);
+        }
+    }
+}
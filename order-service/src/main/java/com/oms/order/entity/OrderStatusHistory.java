@@ -0,0 +1,65 @@
+package com.oms.order.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of an order status transition
+ * Rows are only ever inserted, in the same transaction as the transition itself
+ */
+@Entity
+@Table(name = "order_status_history", indexes = {
+    @Index(name = "idx_order_status_history_order_changed", columnList = "order_id, changed_at"),
+    @Index(name = "idx_order_status_history_changed", columnList = "changed_at")
+})
+public class OrderStatusHistory {
+    
+    // Pooled sequence so inserts can be JDBC-batched without a round-trip per row
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_status_history_seq")
+    @SequenceGenerator(name = "order_status_history_seq", sequenceName = "order_status_history_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+    
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", updatable = false)
+    private OrderStatus fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, updatable = false)
+    private OrderStatus toStatus;
+    
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+    
+    // Constructors
+    public OrderStatusHistory() {}
+    
+    public OrderStatusHistory(Long orderId, Long userId, OrderStatus fromStatus, OrderStatus toStatus,
+                              LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public Long getOrderId() { return orderId; }
+    
+    public Long getUserId() { return userId; }
+    
+    public OrderStatus getFromStatus() { return fromStatus; }
+    
+    public OrderStatus getToStatus() { return toStatus; }
+    
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
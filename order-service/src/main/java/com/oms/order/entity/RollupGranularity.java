@@ -0,0 +1,25 @@
+package com.oms.order.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of the order analytics rollups
+ */
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+    
+    private final ChronoUnit unit;
+    
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+    
+    /**
+     * @return start of the bucket containing the given time
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+}
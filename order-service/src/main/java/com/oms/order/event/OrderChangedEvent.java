@@ -0,0 +1,12 @@
+package com.oms.order.event;
+
+import com.oms.order.dto.OrderResponseDto;
+
+/**
+ * In-process notification that an order was created or changed
+ * Published inside the DB transaction; listen with @TransactionalEventListener to act only after commit
+ * @param order order state after the change
+ * @param eventType ORDER_CREATED, ORDER_UPDATED or ORDER_CANCELLED
+ */
+public record OrderChangedEvent(OrderResponseDto order, String eventType) {
+}
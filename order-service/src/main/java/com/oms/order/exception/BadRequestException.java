@@ -0,0 +1,10 @@
+package com.oms.order.exception;
+
+/**
+ * A request the caller has to change before retrying; its message is returned to the client
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
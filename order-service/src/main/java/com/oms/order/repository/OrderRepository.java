@@ -2,16 +2,34 @@ package com.oms.order.repository;
 
 import com.oms.order.entity.Order;
 import com.oms.order.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     List<Order> findByUserId(Long userId);
     
+    List<Order> findByIdInAndUserId(Collection<Long> ids, Long userId);
+    
+    Optional<Order> findBySubmissionIdAndCreatedAtAndUserId(Long submissionId, LocalDateTime createdAt, Long userId);
+    
+    Optional<Order> findFirstBySubmissionIdAndUserId(Long submissionId, Long userId);
+    
+    List<Order> findBySubmissionIdIn(Collection<Long> submissionIds);
+    
     List<Order> findByStatus(OrderStatus status);
     
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
@@ -19,4 +37,22 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Long countByUserId(Long userId);
     
     Long countByStatus(OrderStatus status);
-}
\ No newline at end of file
+    
+    long countByStatusAndCreatedAtBefore(OrderStatus status, LocalDateTime createdBefore);
+    
+    /**
+     * Users with the most orders placed since the given time, most active first
+     */
+    @Query("SELECT o.userId FROM Order o WHERE o.createdAt >= :since GROUP BY o.userId ORDER BY COUNT(o) DESC")
+    List<Long> findMostActiveUserIds(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    /**
+     * Lock the next chunk of archivable orders, skipping rows locked by in-flight updates
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND o.createdAt < :cutoff ORDER BY o.id")
+    List<Order> findArchivableForUpdate(@Param("statuses") Collection<OrderStatus> statuses,
+                                        @Param("cutoff") LocalDateTime cutoff,
+                                        Pageable pageable);
+}
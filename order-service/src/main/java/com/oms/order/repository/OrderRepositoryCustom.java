@@ -0,0 +1,50 @@
+package com.oms.order.repository;
+
+import com.oms.order.entity.Order;
+import com.oms.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based order writes that don't go through the persistence context
+ */
+public interface OrderRepositoryCustom {
+    
+    /**
+     * Move a user's orders to a status in one conditional UPDATE
+     * Orders of other users and orders already in the target status are left untouched.
+     * @param orderIds candidate order IDs
+     * @param userId owner the orders must belong to
+     * @param status target status
+     * @param changedAt new updatedAt of the changed orders
+     * @return the changed orders with the status each was in before
+     */
+    List<StatusTransition> transitionStatus(Collection<Long> orderIds, Long userId, OrderStatus status, LocalDateTime changedAt);
+    
+    /**
+     * Move the oldest orders still in a status to another one, skipping rows other transactions hold
+     * @param fromStatus status the orders must still be in
+     * @param createdBefore only orders created before this
+     * @param limit max orders to claim
+     * @param status target status
+     * @param changedAt new updatedAt of the changed orders
+     * @return the changed orders with the status each was in before
+     */
+    List<StatusTransition> transitionStale(OrderStatus fromStatus, LocalDateTime createdBefore, int limit,
+                                           OrderStatus status, LocalDateTime changedAt);
+    
+    /**
+     * Insert new orders as one JDBC batch and set their generated IDs
+     * Timestamps and totals must already be set; entity callbacks don't run.
+     * An order whose submission ID and createdAt are already stored is skipped and keeps a null ID.
+     * @param orders new orders without IDs
+     */
+    void insertAll(List<Order> orders);
+    
+    /**
+     * An order as it is after a bulk transition, plus the status it came from
+     */
+    record StatusTransition(Order order, OrderStatus previousStatus) {}
+}
@@ -0,0 +1,136 @@
+package com.oms.order.repository;
+
+import com.oms.order.entity.Money;
+import com.oms.order.entity.Order;
+import com.oms.order.entity.OrderStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+    
+    private static final String RETURNING =
+        "RETURNING o.id, o.user_id, o.product_name, o.quantity, o.price, o.total_amount, " +
+        "o.status, o.created_at, o.updated_at, t.status AS previous_status";
+    
+    // Rows are locked in ID order so concurrent bulk calls over overlapping IDs can't deadlock;
+    // joining on created_at as well lets a partitioned orders table prune to one partition per row
+    private static final String TRANSITION_SQL =
+        "WITH target AS (" +
+        "  SELECT id, created_at, status FROM orders" +
+        "  WHERE id IN (:ids) AND user_id = :userId AND status <> :status" +
+        "  ORDER BY id FOR UPDATE" +
+        ") " +
+        "UPDATE orders o SET status = :status, updated_at = :changedAt " +
+        "FROM target t WHERE o.id = t.id AND o.created_at = t.created_at " + RETURNING;
+    
+    // Walks idx_orders_status_created from the oldest row; rows locked by live requests are skipped,
+    // not waited for, so concurrent runs on several instances claim disjoint chunks
+    private static final String CLAIM_STALE_SQL =
+        "WITH target AS (" +
+        "  SELECT id, created_at, status FROM orders" +
+        "  WHERE status = :fromStatus AND created_at < :createdBefore" +
+        "  ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED" +
+        ") " +
+        "UPDATE orders o SET status = :status, updated_at = :changedAt " +
+        "FROM target t WHERE o.id = t.id AND o.created_at = t.created_at " + RETURNING;
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO orders (user_id, product_name, quantity, price, total_amount, status, created_at, updated_at, submission_id) " +
+        "VALUES (:userId, :productName, :quantity, :price, :totalAmount, :status, :createdAt, :updatedAt, :submissionId) " +
+        // A submission already stored (e.g. by a retried batch whose commit did go through) is skipped
+        "ON CONFLICT (submission_id, created_at) DO NOTHING";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public OrderRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public List<StatusTransition> transitionStatus(Collection<Long> orderIds, Long userId, OrderStatus status, LocalDateTime changedAt) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", orderIds)
+            .addValue("userId", userId)
+            .addValue("status", status.name())
+            .addValue("changedAt", Timestamp.valueOf(changedAt));
+        return jdbcTemplate.query(TRANSITION_SQL, params, this::mapTransition);
+    }
+    
+    @Override
+    public List<StatusTransition> transitionStale(OrderStatus fromStatus, LocalDateTime createdBefore, int limit,
+                                                  OrderStatus status, LocalDateTime changedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("fromStatus", fromStatus.name())
+            .addValue("createdBefore", Timestamp.valueOf(createdBefore))
+            .addValue("limit", limit)
+            .addValue("status", status.name())
+            .addValue("changedAt", Timestamp.valueOf(changedAt));
+        return jdbcTemplate.query(CLAIM_STALE_SQL, params, this::mapTransition);
+    }
+    
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = new SqlParameterSource[orders.size()];
+        for (int i = 0; i < rows.length; i++) {
+            Order order = orders.get(i);
+            rows[i] = new MapSqlParameterSource()
+                .addValue("userId", order.getUserId())
+                .addValue("productName", order.getProductName())
+                .addValue("quantity", order.getQuantity())
+                .addValue("price", order.getPrice().toBigDecimal())
+                .addValue("totalAmount", order.getTotalAmount().toBigDecimal())
+                .addValue("status", order.getStatus().name())
+                .addValue("createdAt", Timestamp.valueOf(order.getCreatedAt()))
+                .addValue("updatedAt", Timestamp.valueOf(order.getUpdatedAt()))
+                .addValue("submissionId", order.getSubmissionId(), Types.BIGINT);
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, keys, new String[] {"id", "submission_id"});
+        // Keys come back in batch order, with none for skipped rows; only submissions can be skipped
+        List<Map<String, Object>> generated = keys.getKeyList();
+        int next = 0;
+        for (Order order : orders) {
+            if (next < generated.size() && Objects.equals(submissionIdOf(generated.get(next)), order.getSubmissionId())) {
+                order.setId(((Number) generated.get(next++).get("id")).longValue());
+            }
+        }
+    }
+    
+    private static Long submissionIdOf(Map<String, Object> key) {
+        Object submissionId = key.get("submission_id");
+        return submissionId != null ? ((Number) submissionId).longValue() : null;
+    }
+    
+    private StatusTransition mapTransition(ResultSet rs, int rowNum) throws SQLException {
+        Order order = new Order();
+        order.setId(rs.getLong("id"));
+        order.setUserId(rs.getLong("user_id"));
+        order.setProductName(rs.getString("product_name"));
+        order.setQuantity(rs.getInt("quantity"));
+        order.setPrice(Money.of(rs.getBigDecimal("price")));
+        order.setTotalAmount(Money.of(rs.getBigDecimal("total_amount")));
+        order.setStatus(OrderStatus.valueOf(rs.getString("status")));
+        order.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        order.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return new StatusTransition(order, OrderStatus.valueOf(rs.getString("previous_status")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.oms.order.repository;
+
+import com.oms.order.dto.OrderRollupSummaryDto;
+import com.oms.order.entity.OrderRollup;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.entity.RollupGranularity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderRollupRepository extends JpaRepository<OrderRollup, OrderRollup.Key> {
+    
+    /**
+     * Rollup rows of one granularity with bucketStart in [from, to), optionally for one product and/or status
+     */
+    @Query("SELECT r FROM OrderRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "AND (:productName IS NULL OR r.productName = :productName) " +
+           "AND (:status IS NULL OR r.status = :status) " +
+           "ORDER BY r.bucketStart, r.productName, r.status")
+    List<OrderRollup> findRollups(@Param("granularity") RollupGranularity granularity,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to,
+                                  @Param("productName") String productName,
+                                  @Param("status") OrderStatus status,
+                                  Pageable pageable);
+    
+    /**
+     * Totals per product for orders that entered the given status in [from, to)
+     */
+    @Query("SELECT new com.oms.order.dto.OrderRollupSummaryDto(r.productName, SUM(r.orderCount), SUM(r.quantity), SUM(r.totalAmountMinor)) " +
+           "FROM OrderRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to AND r.status = :status " +
+           "GROUP BY r.productName ORDER BY SUM(r.totalAmountMinor) DESC")
+    List<OrderRollupSummaryDto> summarizeByProduct(@Param("granularity") RollupGranularity granularity,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("status") OrderStatus status);
+    
+    /**
+     * Totals per status over all products in [from, to)
+     */
+    @Query("SELECT new com.oms.order.dto.OrderRollupSummaryDto(r.status, SUM(r.orderCount), SUM(r.quantity), SUM(r.totalAmountMinor)) " +
+           "FROM OrderRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.status ORDER BY r.status")
+    List<OrderRollupSummaryDto> summarizeByStatus(@Param("granularity") RollupGranularity granularity,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+}
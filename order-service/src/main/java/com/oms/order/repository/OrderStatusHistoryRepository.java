@@ -0,0 +1,21 @@
+package com.oms.order.repository;
+
+import com.oms.order.entity.OrderStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
+    
+    List<OrderStatusHistory> findByOrderIdOrderByChangedAtAscIdAsc(Long orderId);
+    
+    /**
+     * Latest transition at or before the given instant (served by the order_id, changed_at index)
+     */
+    Optional<OrderStatusHistory> findFirstByOrderIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(
+            Long orderId, LocalDateTime asOf);
+}
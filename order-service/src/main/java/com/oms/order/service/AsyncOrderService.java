@@ -0,0 +1,84 @@
+package com.oms.order.service;
+
+import com.oms.order.dto.CreateOrderRequestDto;
+import com.oms.order.dto.OrderResponseDto;
+import com.oms.order.entity.Order;
+import com.oms.order.exception.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking variants of the order operations
+ * Runs the auth lookup and the DB read concurrently where the data allows it
+ */
+@Service
+public class AsyncOrderService {
+    
+    private final OrderService orderService;
+    private final Executor orderTaskExecutor;
+    
+    @Value("${async.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+    
+    public AsyncOrderService(OrderService orderService,
+                             @Qualifier("orderTaskExecutor") Executor orderTaskExecutor) {
+        this.orderService = orderService;
+        this.orderTaskExecutor = orderTaskExecutor;
+    }
+    
+    /**
+     * Create an order off the request thread
+     * Not bounded by the request timeout: the create would carry on and commit after a timed-out
+     * answer, and a client retrying that answer would place the order twice.
+     * @param request order request
+     * @param username authenticated username
+     * @param token JWT token
+     * @return future completing with the created order
+     */
+    public CompletableFuture<OrderResponseDto> createOrder(CreateOrderRequestDto request, String username, String token) {
+        return CompletableFuture
+                .supplyAsync(() -> orderService.createOrder(request, username, token), orderTaskExecutor);
+    }
+    
+    /**
+     * Get the user's orders off the request thread
+     * The DB query depends on the resolved user ID, so the two steps stay sequential
+     * @param username authenticated username
+     * @param token JWT token
+     * @return future completing with the user's orders
+     */
+    public CompletableFuture<List<OrderResponseDto>> getOrdersByUser(String username, String token) {
+        return CompletableFuture
+                .supplyAsync(() -> orderService.getOrdersByUser(username, token), orderTaskExecutor)
+                .orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Get an order by ID, fetching the order and resolving the user in parallel
+     * @param orderId order ID
+     * @param username authenticated username
+     * @param token JWT token
+     * @return future completing with the order
+     */
+    public CompletableFuture<OrderResponseDto> getOrderById(Long orderId, String username, String token) {
+        CompletableFuture<Order> orderFuture = CompletableFuture
+                .supplyAsync(() -> orderService.findOrderIncludingArchive(orderId), orderTaskExecutor);
+        CompletableFuture<Long> userIdFuture = CompletableFuture
+                .supplyAsync(() -> orderService.getUserIdFromToken(token, username), orderTaskExecutor);
+        
+        return orderFuture
+                .thenCombine(userIdFuture, (order, userId) -> {
+                    if (!order.getUserId().equals(userId)) {
+                        throw new UnauthorizedException("You are not authorized to view this order");
+                    }
+                    return orderService.convertToDto(order);
+                })
+                .orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
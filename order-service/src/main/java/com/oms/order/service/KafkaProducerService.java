@@ -3,30 +3,101 @@ package com.oms.order.service;
 import com.oms.order.dto.OrderEventDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
 public class KafkaProducerService {
     
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
-    private static final String ORDER_EVENTS_TOPIC = "order-events";
     
     private final KafkaTemplate<String, OrderEventDto> kafkaTemplate;
+    private final OrderEventKeyStrategy keyStrategy;
+    private final String orderEventsTopic;
     
-    public KafkaProducerService(KafkaTemplate<String, OrderEventDto> kafkaTemplate) {
+    public KafkaProducerService(KafkaTemplate<String, OrderEventDto> kafkaTemplate,
+                                Map<String, OrderEventKeyStrategy> keyStrategies,
+                                @Value("${kafka.partitioning.key:user-id}") String keyStrategyName,
+                                @Value("${kafka.topics.order-events:order-events}") String orderEventsTopic) {
         this.kafkaTemplate = kafkaTemplate;
+        this.keyStrategy = keyStrategies.get(keyStrategyName);
+        if (this.keyStrategy == null) {
+            throw new IllegalStateException("Unknown kafka.partitioning.key '" + keyStrategyName
+                + "', available strategies: " + keyStrategies.keySet());
+        }
+        this.orderEventsTopic = orderEventsTopic;
+        logger.info("Publishing order events to '{}' keyed by {}", orderEventsTopic, keyStrategyName);
     }
     
+    /**
+     * Publish an order event
+     * Inside a DB transaction the event is held back and published in one Kafka transaction
+     * right after the DB commit; a rollback publishes nothing. Outside a transaction it is
+     * published immediately and failures are thrown to the caller.
+     * @param orderEvent event to publish
+     */
     public void sendOrderEvent(OrderEventDto orderEvent) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingEvents().add(orderEvent);
+            return;
+        }
+        publish(List.of(orderEvent));
+    }
+    
+    private List<OrderEventDto> pendingEvents() {
+        @SuppressWarnings("unchecked")
+        List<OrderEventDto> pending = (List<OrderEventDto>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OrderEventDto> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        publish(events);
+                    } catch (RuntimeException e) {
+                        // The DB change is already committed; don't fail the request because of Kafka
+                        logger.error("Failed to send {} order event(s) after commit: {}", events.size(), e.getMessage());
+                    }
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(KafkaProducerService.this);
+                }
+            });
+            pending = events;
+        }
+        return pending;
+    }
+    
+    private void publish(List<OrderEventDto> events) {
         try {
-            kafkaTemplate.send(ORDER_EVENTS_TOPIC, orderEvent.getOrderId().toString(), orderEvent);
-            logger.info("Order event sent successfully: {}", orderEvent.getEventType());
+            if (kafkaTemplate.isTransactional()) {
+                // All events of one DB transaction become visible to read_committed consumers atomically
+                kafkaTemplate.executeInTransaction(operations -> {
+                    events.forEach(event -> operations.send(orderEventsTopic, keyStrategy.keyFor(event), event));
+                    return null;
+                });
+            } else {
+                events.forEach(event -> kafkaTemplate.send(orderEventsTopic, keyStrategy.keyFor(event), event));
+            }
+            events.forEach(event -> logger.atDebug()
+                .addKeyValue("orderId", event.getOrderId())
+                .addKeyValue("eventType", event.getEventType())
+                .log("Order event sent"));
         } catch (Exception e) {
             logger.error("Failed to send order event: {}", e.getMessage());
             throw new RuntimeException("Failed to send order event", e);
         }
     }
-}
\ No newline at end of file
+}
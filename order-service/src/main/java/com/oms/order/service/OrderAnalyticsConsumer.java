@@ -0,0 +1,234 @@
+package com.oms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.OrderEventDto;
+import com.oms.order.entity.OrderRollup;
+import com.oms.order.entity.RollupGranularity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the hourly and daily order rollups from order-events
+ *
+ * Each poll is folded into per-bucket deltas in memory and applied as one batch of additive upserts,
+ * together with the partition offsets, in a single DB transaction. Offsets below the stored ones are
+ * skipped, so redelivery after a crash or rebalance never counts an event twice.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.analytics.enabled", havingValue = "true")
+public class OrderAnalyticsConsumer implements ConsumerSeekAware {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderAnalyticsConsumer.class);
+    private static final String MIGRATED_FROM_HEADER = OrderEventTopicMigrator.MIGRATED_FROM_HEADER;
+    
+    private static final String UPSERT_ROLLUP =
+        "INSERT INTO order_rollups (granularity, bucket_start, product_name, status, order_count, quantity, total_amount_minor) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (granularity, bucket_start, product_name, status) DO UPDATE SET " +
+        "order_count = order_rollups.order_count + EXCLUDED.order_count, " +
+        "quantity = order_rollups.quantity + EXCLUDED.quantity, " +
+        "total_amount_minor = order_rollups.total_amount_minor + EXCLUDED.total_amount_minor";
+    
+    // Rows are locked in key order so concurrent instances can't deadlock on shared buckets
+    private static final Comparator<OrderRollup.Key> KEY_ORDER = Comparator
+            .comparing(OrderRollup.Key::getGranularity)
+            .thenComparing(OrderRollup.Key::getBucketStart)
+            .thenComparing(OrderRollup.Key::getProductName)
+            .thenComparing(OrderRollup.Key::getStatus);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    
+    private final Counter applied;
+    private final Counter duplicates;
+    private final Counter unreadable;
+    
+    public OrderAnalyticsConsumer(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.applied = Counter.builder("orders.analytics.events").tag("result", "applied").register(meterRegistry);
+        this.duplicates = Counter.builder("orders.analytics.events").tag("result", "duplicate").register(meterRegistry);
+        this.unreadable = Counter.builder("orders.analytics.events").tag("result", "unreadable").register(meterRegistry);
+    }
+    
+    @KafkaListener(
+        topics = "${kafka.topics.order-events:order-events}",
+        groupId = "${orders.analytics.group-id:order-analytics}",
+        autoStartup = "${kafka.enabled:false}",
+        batch = "true",
+        properties = {
+            "auto.offset.reset=earliest",
+            "isolation.level=read_committed",
+            "max.poll.records=${orders.analytics.max-batch:2000}"
+        }
+    )
+    public void onOrderEvents(List<ConsumerRecord<String, String>> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> apply(records));
+    }
+    
+    /**
+     * Resume from the offsets committed with the rollups rather than the consumer group's
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Set<String> topics = assignments.keySet().stream().map(TopicPartition::topic).collect(Collectors.toSet());
+        for (String topic : topics) {
+            Map<Integer, Long> stored = new HashMap<>();
+            jdbcTemplate.query("SELECT partition_id, next_offset FROM analytics_offsets WHERE topic = ?",
+                rs -> { stored.put(rs.getInt(1), rs.getLong(2)); }, topic);
+            for (TopicPartition tp : assignments.keySet()) {
+                Long next = stored.get(tp.partition());
+                if (tp.topic().equals(topic) && next != null) {
+                    callback.seek(tp.topic(), tp.partition(), next);
+                }
+            }
+        }
+    }
+    
+    private void apply(List<ConsumerRecord<String, String>> records) {
+        Map<TopicPartition, Long> nextOffsets = lockOffsets(records);
+        Map<OrderRollup.Key, long[]> deltas = new HashMap<>();
+        
+        for (ConsumerRecord<String, String> record : records) {
+            TopicPartition tp = new TopicPartition(record.topic(), record.partition());
+            if (record.offset() < nextOffsets.get(tp)) {
+                duplicates.increment();
+                continue;
+            }
+            nextOffsets.put(tp, record.offset() + 1);
+            
+            // Migrated copies were already counted from the source topic
+            if (record.headers().lastHeader(MIGRATED_FROM_HEADER) != null) {
+                continue;
+            }
+            OrderEventDto event = read(record);
+            if (event == null) {
+                continue;
+            }
+            LocalDateTime changedAt = changedAt(event, record);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                OrderRollup.Key key = new OrderRollup.Key(
+                    granularity, granularity.bucketStart(changedAt), event.getProductName(), event.getStatus());
+                long[] delta = deltas.computeIfAbsent(key, k -> new long[3]);
+                delta[0] += 1;
+                delta[1] += event.getQuantity() == null ? 0 : event.getQuantity();
+                delta[2] += event.getTotalAmount() == null ? 0 : event.getTotalAmount().minorUnits();
+            }
+            applied.increment();
+        }
+        
+        List<OrderRollup.Key> keys = new ArrayList<>(deltas.keySet());
+        keys.sort(KEY_ORDER);
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP, keys, 500, (ps, key) -> {
+            long[] delta = deltas.get(key);
+            ps.setString(1, key.getGranularity().name());
+            ps.setTimestamp(2, Timestamp.valueOf(key.getBucketStart()));
+            ps.setString(3, key.getProductName());
+            ps.setString(4, key.getStatus().name());
+            ps.setLong(5, delta[0]);
+            ps.setLong(6, delta[1]);
+            ps.setLong(7, delta[2]);
+        });
+        
+        List<Map.Entry<TopicPartition, Long>> offsets = new ArrayList<>(nextOffsets.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE analytics_offsets SET next_offset = ? WHERE topic = ? AND partition_id = ?",
+            offsets, offsets.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getValue());
+                ps.setString(2, entry.getKey().topic());
+                ps.setInt(3, entry.getKey().partition());
+            });
+        logger.atDebug()
+            .addKeyValue("records", records.size())
+            .addKeyValue("rollupRows", keys.size())
+            .log("Applied order events to rollups");
+    }
+    
+    /**
+     * Lock the offset rows of the batch's partitions for the rest of the transaction
+     * An instance that lost the partition in a rebalance waits here and then sees its batch as already applied
+     */
+    private Map<TopicPartition, Long> lockOffsets(List<ConsumerRecord<String, String>> records) {
+        List<TopicPartition> partitions = records.stream()
+                .map(record -> new TopicPartition(record.topic(), record.partition()))
+                .distinct()
+                .sorted(Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition))
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO analytics_offsets (topic, partition_id, next_offset) VALUES (?, ?, 0) ON CONFLICT DO NOTHING",
+            partitions, partitions.size(), (ps, tp) -> {
+                ps.setString(1, tp.topic());
+                ps.setInt(2, tp.partition());
+            });
+        
+        Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+        for (TopicPartition tp : partitions) {
+            Long next = jdbcTemplate.queryForObject(
+                "SELECT next_offset FROM analytics_offsets WHERE topic = ? AND partition_id = ? FOR UPDATE",
+                Long.class, tp.topic(), tp.partition());
+            nextOffsets.put(tp, next);
+        }
+        return nextOffsets;
+    }
+    
+    private OrderEventDto read(ConsumerRecord<String, String> record) {
+        try {
+            OrderEventDto event = objectMapper.readValue(record.value(), OrderEventDto.class);
+            if (event.getProductName() == null || event.getStatus() == null) {
+                throw new IllegalArgumentException("missing productName or status");
+            }
+            return event;
+        } catch (Exception e) {
+            unreadable.increment();
+            logger.atWarn()
+                .addKeyValue("partition", record.partition())
+                .addKeyValue("offset", record.offset())
+                .addKeyValue("error", e.getMessage())
+                .log("Skipping unreadable order event");
+            return null;
+        }
+    }
+    
+    /**
+     * Time of the status change: the order's updatedAt, falling back to the event/record time for old events
+     */
+    private static LocalDateTime changedAt(OrderEventDto event, ConsumerRecord<String, String> record) {
+        if (event.getUpdatedAt() != null) {
+            return event.getUpdatedAt();
+        }
+        if (event.getTimestamp() != null) {
+            return event.getTimestamp();
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,71 @@
+package com.oms.order.service;
+
+import com.oms.order.dto.OrderRollupDto;
+import com.oms.order.dto.OrderRollupSummaryDto;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.entity.RollupGranularity;
+import com.oms.order.exception.BadRequestException;
+import com.oms.order.repository.OrderRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the order rollups; queries only the rollup table
+ */
+@Service
+@ConditionalOnProperty(name = "orders.analytics.enabled", havingValue = "true")
+@Transactional(readOnly = true)
+public class OrderAnalyticsService {
+    
+    private final OrderRollupRepository rollupRepository;
+    
+    @Value("${orders.analytics.max-rows:10000}")
+    private int maxRows;
+    
+    public OrderAnalyticsService(OrderRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+    
+    /**
+     * Rollup buckets in [from, to), capped at orders.analytics.max-rows
+     */
+    public List<OrderRollupDto> getRollups(RollupGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                           String productName, OrderStatus status) {
+        validateRange(from, to);
+        return rollupRepository.findRollups(granularity, from, to, productName, status, PageRequest.of(0, maxRows))
+                .stream()
+                .map(OrderRollupDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Per-product totals of orders that entered the given status in [from, to), highest amount first
+     */
+    public List<OrderRollupSummaryDto> getProductSummary(RollupGranularity granularity, LocalDateTime from,
+                                                         LocalDateTime to, OrderStatus status) {
+        validateRange(from, to);
+        return rollupRepository.summarizeByProduct(granularity, from, to, status);
+    }
+    
+    /**
+     * Per-status totals over all products in [from, to)
+     */
+    public List<OrderRollupSummaryDto> getStatusSummary(RollupGranularity granularity, LocalDateTime from,
+                                                        LocalDateTime to) {
+        validateRange(from, to);
+        return rollupRepository.summarizeByStatus(granularity, from, to);
+    }
+    
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.oms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.OrderEventDto;
+import com.oms.order.dto.OrderResponseDto;
+import com.oms.order.event.OrderChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events push of order changes to their owners
+ *
+ * Changes arrive after commit from this instance and from order-events for changes made on other
+ * instances; the copy seen second is dropped. Event IDs are "<updatedAt micros>-<orderId>", so they
+ * mean the same on every instance and a client can resume anywhere with Last-Event-ID. Each user keeps
+ * a short replay ring; when a resume point is older than what the ring still covers the client gets a
+ * "reset" event and should reload its orders once.
+ *
+ * Every connection has a bounded queue drained on its own virtual thread, so a slow client never
+ * blocks the publishers. A connection whose queue overflows is closed and resumes from its last ID.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.stream.enabled", havingValue = "true")
+public class OrderChangeStream {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderChangeStream.class);
+    
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMs;
+    
+    private final Map<Long, UserStream> users;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger connections = new AtomicInteger();
+    
+    private final Counter overflows;
+    
+    public OrderChangeStream(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${orders.stream.buffer-size:256}") int bufferSize,
+                             @Value("${orders.stream.replay-size:100}") int replaySize,
+                             @Value("${orders.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${orders.stream.max-users:10000}") int maxUsers) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMs = timeoutMs;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserStream> eldest) {
+                // Users with open connections stay even over the bound
+                return size() > maxUsers && eldest.getValue().isIdle();
+            }
+        });
+        
+        this.overflows = Counter.builder("orders.stream.overflows")
+                .description("Connections closed because the client fell too far behind")
+                .register(meterRegistry);
+        Gauge.builder("orders.stream.connections", connections, AtomicInteger::get).register(meterRegistry);
+    }
+    
+    /**
+     * Open a stream of a user's order changes
+     * @param userId subscribing user
+     * @param orderId only this order, or null for all of the user's orders
+     * @param lastEventId Last-Event-ID sent by a reconnecting client, or null
+     */
+    public SseEmitter subscribe(Long userId, Long orderId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(userId, orderId, emitter);
+        Key resumeAfter = parseKey(lastEventId);
+        connections.incrementAndGet();
+        
+        // Attach under the map lock so the entry can't be evicted as idle in between
+        UserStream stream = users.compute(userId, (id, existing) -> {
+            UserStream userStream = existing != null ? existing : new UserStream();
+            userStream.attach(subscription, resumeAfter);
+            return userStream;
+        });
+        emitter.onCompletion(() -> stream.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> stream.remove(subscription));
+        return emitter;
+    }
+    
+    @TransactionalEventListener
+    public void onLocalChange(OrderChangedEvent event) {
+        publish(event.order(), event.eventType());
+    }
+    
+    @KafkaListener(
+        topics = "${kafka.topics.order-events:order-events}",
+        groupId = "order-stream-${HOSTNAME:local}",
+        autoStartup = "${kafka.enabled:false}",
+        properties = {"auto.offset.reset=latest", "isolation.level=read_committed"}
+    )
+    public void onOrderEvent(@Payload String rawMessage,
+                             @Header(name = OrderEventTopicMigrator.MIGRATED_FROM_HEADER, required = false) byte[] migratedFrom) {
+        if (migratedFrom != null) {
+            return;
+        }
+        try {
+            OrderEventDto event = objectMapper.readValue(rawMessage, OrderEventDto.class);
+            publish(new OrderResponseDto(
+                event.getOrderId(),
+                event.getUserId(),
+                event.getProductName(),
+                event.getQuantity(),
+                event.getPrice(),
+                event.getTotalAmount(),
+                event.getStatus(),
+                event.getCreatedAt(),
+                event.getUpdatedAt()
+            ), event.getEventType());
+        } catch (Exception e) {
+            logger.warn("Failed to push order event to streams: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Keep idle connections (and the proxies in between) from timing out, and notice dead clients
+     */
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        List<UserStream> streams;
+        synchronized (users) {
+            streams = new ArrayList<>(users.values());
+        }
+        streams.forEach(UserStream::heartbeat);
+    }
+    
+    /**
+     * Close all connections on shutdown so clients reconnect to another instance right away
+     */
+    @PreDestroy
+    public void shutdown() {
+        List<UserStream> streams;
+        synchronized (users) {
+            streams = new ArrayList<>(users.values());
+        }
+        streams.forEach(UserStream::closeAll);
+        senders.shutdown();
+    }
+    
+    private void publish(OrderResponseDto order, String eventType) {
+        if (order.getUserId() == null || order.getUpdatedAt() == null) {
+            // Published before events carried the full order; there's no stable ID to give it
+            return;
+        }
+        UserStream stream = users.get(order.getUserId());
+        if (stream != null) {
+            stream.publish(new StreamEvent(new Key(toMicros(order.getUpdatedAt()), order.getId()), eventType, order));
+        }
+    }
+    
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+    }
+    
+    private static Key parseKey(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        int dash = lastEventId.indexOf('-');
+        try {
+            return new Key(Long.parseLong(lastEventId.substring(0, dash)), Long.parseLong(lastEventId.substring(dash + 1)));
+        } catch (RuntimeException e) {
+            // Unknown format: treat like a resume point we can't serve
+            return new Key(Long.MIN_VALUE, Long.MIN_VALUE);
+        }
+    }
+    
+    /**
+     * Position of an event in a user's stream: updatedAt in microseconds, then order ID
+     */
+    private record Key(long micros, long orderId) implements Comparable<Key> {
+        
+        @Override
+        public int compareTo(Key other) {
+            int byTime = Long.compare(micros, other.micros);
+            return byTime != 0 ? byTime : Long.compare(orderId, other.orderId);
+        }
+        
+        @Override
+        public String toString() {
+            return micros + "-" + orderId;
+        }
+    }
+    
+    private record StreamEvent(Key key, String eventType, OrderResponseDto order) {}
+    
+    /**
+     * Replay ring and live connections of one user; the monitor orders publishes against new subscriptions
+     * Events are only recorded while the entry exists, so it can't replay anything from before its creation.
+     */
+    private final class UserStream {
+        
+        private final ArrayDeque<StreamEvent> recent = new ArrayDeque<>();
+        private final List<Subscription> subscriptions = new ArrayList<>();
+        private long coveredFrom = toMicros(LocalDateTime.now());
+        
+        synchronized void attach(Subscription subscription, Key resumeAfter) {
+            if (resumeAfter != null) {
+                if (resumeAfter.micros() < coveredFrom) {
+                    subscription.offer(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+                }
+                for (StreamEvent event : recent) {
+                    if (event.key().compareTo(resumeAfter) > 0 && subscription.matches(event)) {
+                        subscription.offer(subscription.toSse(event));
+                    }
+                }
+            }
+            subscriptions.add(subscription);
+        }
+        
+        synchronized void publish(StreamEvent event) {
+            for (StreamEvent seen : recent) {
+                if (seen.key().equals(event.key())) {
+                    // Already delivered from the other feed
+                    return;
+                }
+            }
+            if (recent.size() >= replaySize) {
+                coveredFrom = Math.max(coveredFrom, recent.removeFirst().key().micros());
+            }
+            recent.addLast(event);
+            for (Subscription subscription : List.copyOf(subscriptions)) {
+                if (subscription.matches(event)) {
+                    subscription.offer(subscription.toSse(event));
+                }
+            }
+        }
+        
+        synchronized void heartbeat() {
+            for (Subscription subscription : List.copyOf(subscriptions)) {
+                subscription.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+        
+        synchronized void remove(Subscription subscription) {
+            if (subscriptions.remove(subscription)) {
+                connections.decrementAndGet();
+            }
+        }
+        
+        synchronized boolean isIdle() {
+            return subscriptions.isEmpty();
+        }
+        
+        synchronized void closeAll() {
+            List.copyOf(subscriptions).forEach(Subscription::close);
+        }
+    }
+    
+    /**
+     * One client connection with its bounded send queue
+     */
+    private final class Subscription {
+        
+        private final Long userId;
+        private final Long orderId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        
+        Subscription(Long userId, Long orderId, SseEmitter emitter) {
+            this.userId = userId;
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+        
+        boolean matches(StreamEvent event) {
+            return orderId == null || orderId.equals(event.order().getId());
+        }
+        
+        SseEmitter.SseEventBuilder toSse(StreamEvent event) {
+            // Builders are single-use, so every connection gets its own
+            return SseEmitter.event()
+                .id(event.key().toString())
+                .name(event.eventType())
+                .data(event.order(), MediaType.APPLICATION_JSON);
+        }
+        
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                overflows.increment();
+                logger.atDebug().addKeyValue("userId", userId).log("Order stream overflowed, closing connection");
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the container reports completion and removes the subscription
+                        closed = true;
+                    }
+                }
+                draining.set(false);
+                // Something may have been queued between the last poll and releasing the flag
+            } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+        
+        private void close() {
+            closed = true;
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.oms.order.service;
+
+import com.oms.order.dto.OrderEventDto;
+
+/**
+ * Chooses the Kafka record key for an order event
+ * Kafka only orders records within a partition, so the key decides which events are
+ * guaranteed to be consumed in order relative to each other.
+ *
+ * Built-in strategies are registered as beans named "user-id" and "order-id"; any other
+ * OrderEventKeyStrategy bean can be selected by its bean name via kafka.partitioning.key.
+ */
+@FunctionalInterface
+public interface OrderEventKeyStrategy {
+    
+    /**
+     * Every event of one customer lands on the same partition (per-customer ordering)
+     */
+    OrderEventKeyStrategy BY_USER_ID = event -> String.valueOf(event.getUserId());
+    
+    /**
+     * Every event of one order lands on the same partition (per-order ordering, widest spread)
+     */
+    OrderEventKeyStrategy BY_ORDER_ID = event -> String.valueOf(event.getOrderId());
+    
+    String keyFor(OrderEventDto orderEvent);
+}
@@ -0,0 +1,249 @@
+package com.oms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.OrderEventDto;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * One-shot copy of an order events topic into a topic with a different partition count and key strategy
+ *
+ * Source partitions are merged by record timestamp (ties broken by partition), so every key of the
+ * new strategy sees its events in the order they were originally produced. Progress is committed as
+ * consumer group offsets on the source, so a second run only copies what arrived after the first.
+ * Copied records carry an x-migrated-from header; consumers skip them because they already
+ * processed the originals from the source topic.
+ *
+ * Runs under OrderEventMigrationApplication, which enables it; the application exits when the copy
+ * is done. See kafka-repartition.sh for the full cut-over procedure.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.migration.enabled", havingValue = "true")
+public class OrderEventTopicMigrator implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventTopicMigrator.class);
+    public static final String MIGRATED_FROM_HEADER = "x-migrated-from";
+    
+    private static final int MAX_BUFFERED_PER_PARTITION = 2000;
+    private static final int COMMIT_EVERY = 5000;
+    
+    private final ApplicationContext applicationContext;
+    private final ObjectMapper objectMapper;
+    private final OrderEventKeyStrategy keyStrategy;
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Value("${kafka.migration.source-topic}")
+    private String sourceTopic;
+    
+    @Value("${kafka.migration.target-topic}")
+    private String targetTopic;
+    
+    @Value("${kafka.migration.group-id:order-events-migrator}")
+    private String groupId;
+    
+    public OrderEventTopicMigrator(ApplicationContext applicationContext,
+                                   ObjectMapper objectMapper,
+                                   Map<String, OrderEventKeyStrategy> keyStrategies,
+                                   @Value("${kafka.partitioning.key:user-id}") String keyStrategyName) {
+        this.applicationContext = applicationContext;
+        this.objectMapper = objectMapper;
+        this.keyStrategy = keyStrategies.get(keyStrategyName);
+        if (this.keyStrategy == null) {
+            throw new IllegalStateException("Unknown kafka.partitioning.key '" + keyStrategyName + "'");
+        }
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            long copied = migrate();
+            logger.info("Migrated {} records from '{}' to '{}'", copied, sourceTopic, targetTopic);
+        } catch (Exception e) {
+            logger.error("Topic migration failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+    
+    private long migrate() throws Exception {
+        try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerProperties());
+             KafkaProducer<String, byte[]> producer = new KafkaProducer<>(producerProperties())) {
+            
+            List<TopicPartition> partitions = consumer.partitionsFor(sourceTopic).stream()
+                    .map(info -> new TopicPartition(sourceTopic, info.partition()))
+                    .collect(Collectors.toList());
+            consumer.assign(partitions);
+            
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+            for (TopicPartition tp : partitions) {
+                OffsetAndMetadata offset = committed.get(tp);
+                if (offset != null) {
+                    consumer.seek(tp, offset.offset());
+                } else {
+                    consumer.seekToBeginning(List.of(tp));
+                }
+            }
+            
+            // Copy up to the end offsets as of now; a later run picks up anything newer
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            Map<TopicPartition, ArrayDeque<ConsumerRecord<byte[], byte[]>>> buffers = new HashMap<>();
+            Set<TopicPartition> active = new HashSet<>();
+            for (TopicPartition tp : partitions) {
+                buffers.put(tp, new ArrayDeque<>());
+                if (consumer.position(tp) < endOffsets.get(tp)) {
+                    active.add(tp);
+                }
+            }
+            
+            Map<TopicPartition, OffsetAndMetadata> progress = new HashMap<>();
+            Comparator<ConsumerRecord<byte[], byte[]>> byTimestamp = Comparator
+                    .comparingLong((ConsumerRecord<byte[], byte[]> r) -> r.timestamp())
+                    .thenComparingInt(ConsumerRecord::partition);
+            AtomicReference<Exception> sendFailure = new AtomicReference<>();
+            long copied = 0;
+            
+            while (true) {
+                fill(consumer, buffers, active, endOffsets);
+                
+                // A record may only be emitted once every unfinished partition has a candidate to compare with
+                ConsumerRecord<byte[], byte[]> next = null;
+                for (Map.Entry<TopicPartition, ArrayDeque<ConsumerRecord<byte[], byte[]>>> entry : buffers.entrySet()) {
+                    ConsumerRecord<byte[], byte[]> head = entry.getValue().peek();
+                    if (head != null && (next == null || byTimestamp.compare(head, next) < 0)) {
+                        next = head;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                TopicPartition tp = new TopicPartition(next.topic(), next.partition());
+                buffers.get(tp).poll();
+                
+                producer.send(toTarget(next), (metadata, e) -> {
+                    if (e != null) {
+                        sendFailure.compareAndSet(null, e);
+                    }
+                });
+                progress.put(tp, new OffsetAndMetadata(next.offset() + 1));
+                copied++;
+                
+                if (copied % COMMIT_EVERY == 0) {
+                    producer.flush();
+                    checkSent(sendFailure);
+                    consumer.commitSync(progress);
+                    logger.info("Migrated {} records so far", copied);
+                }
+            }
+            
+            producer.flush();
+            checkSent(sendFailure);
+            if (!progress.isEmpty()) {
+                consumer.commitSync(progress);
+            }
+            return copied;
+        }
+    }
+    
+    private static void checkSent(AtomicReference<Exception> sendFailure) throws Exception {
+        // Never commit source offsets past a record that didn't reach the target
+        Exception failure = sendFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private void fill(KafkaConsumer<byte[], byte[]> consumer,
+                      Map<TopicPartition, ArrayDeque<ConsumerRecord<byte[], byte[]>>> buffers,
+                      Set<TopicPartition> active,
+                      Map<TopicPartition, Long> endOffsets) {
+        while (active.stream().anyMatch(tp -> buffers.get(tp).isEmpty())) {
+            // Only fetch for partitions that are starving so buffering stays bounded
+            Set<TopicPartition> starving = active.stream()
+                    .filter(tp -> buffers.get(tp).size() < MAX_BUFFERED_PER_PARTITION)
+                    .collect(Collectors.toSet());
+            consumer.pause(consumer.assignment().stream().filter(tp -> !starving.contains(tp)).collect(Collectors.toList()));
+            consumer.resume(starving);
+            
+            for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ofSeconds(1))) {
+                TopicPartition tp = new TopicPartition(record.topic(), record.partition());
+                if (record.offset() < endOffsets.get(tp)) {
+                    buffers.get(tp).add(record);
+                }
+            }
+            // Offsets can have gaps (compaction, transaction markers), so finish on position, not last record
+            active.removeIf(tp -> consumer.position(tp) >= endOffsets.get(tp));
+        }
+    }
+    
+    private ProducerRecord<String, byte[]> toTarget(ConsumerRecord<byte[], byte[]> record) throws Exception {
+        OrderEventDto event = objectMapper.readValue(record.value(), OrderEventDto.class);
+        ProducerRecord<String, byte[]> target = new ProducerRecord<>(
+            targetTopic, null, record.timestamp(), keyStrategy.keyFor(event), record.value());
+        for (Header header : record.headers()) {
+            target.headers().add(header);
+        }
+        String origin = record.topic() + ":" + record.partition() + ":" + record.offset();
+        target.headers().add(MIGRATED_FROM_HEADER, origin.getBytes(StandardCharsets.UTF_8));
+        return target;
+    }
+    
+    private Properties consumerProperties() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // Aborted producer transactions must not be copied
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return props;
+    }
+    
+    private Properties producerProperties() {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        // Idempotent producer keeps per-partition order even with retries and pipelined sends
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        return props;
+    }
+}
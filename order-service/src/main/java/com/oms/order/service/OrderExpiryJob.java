@@ -0,0 +1,107 @@
+package com.oms.order.service;
+
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cancels orders that have stayed PENDING longer than orders.expiry.max-age-minutes
+ *
+ * Work is claimed in small chunks with FOR UPDATE SKIP LOCKED, each chunk its own short transaction
+ * with one Kafka transaction for its ORDER_CANCELLED events, so every instance can run the job at
+ * once and live requests are never blocked for longer than one chunk. A short pause between chunks
+ * leaves the connection pool to live traffic.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.expiry.enabled", havingValue = "true")
+public class OrderExpiryJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryJob.class);
+    
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    
+    private final Counter expired;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+    
+    @Value("${orders.expiry.max-age-minutes:1440}")
+    private long maxAgeMinutes;
+    
+    @Value("${orders.expiry.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${orders.expiry.max-chunks-per-run:20}")
+    private int maxChunksPerRun;
+    
+    @Value("${orders.expiry.pause-ms:50}")
+    private long pauseMs;
+    
+    public OrderExpiryJob(OrderService orderService, OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.expired = Counter.builder("orders.expiry.expired")
+                .description("PENDING orders cancelled by the expiry job")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("orders.expiry.chunk")
+                .description("Duration of one expiry chunk transaction")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orders.expiry.backlog", backlog, AtomicLong::get)
+                .description("Expired PENDING orders still waiting, as of the last run")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${orders.expiry.interval-ms:60000}",
+               initialDelayString = "${orders.expiry.interval-ms:60000}")
+    public void expireStalePendingOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(maxAgeMinutes);
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long started = System.nanoTime();
+            int count;
+            try {
+                count = orderService.expireStalePendingOrders(cutoff, chunkSize);
+            } catch (RuntimeException e) {
+                logger.error("Order expiry chunk failed: {}", e.getMessage());
+                break;
+            }
+            chunkTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            expired.increment(count);
+            total += count;
+            if (count < chunkSize || !pause()) {
+                break;
+            }
+        }
+        backlog.set(orderRepository.countByStatusAndCreatedAtBefore(OrderStatus.PENDING, cutoff));
+        if (total > 0) {
+            logger.atInfo()
+                .addKeyValue("expired", total)
+                .addKeyValue("remaining", backlog.get())
+                .log("Cancelled PENDING orders created before {}", cutoff);
+        }
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
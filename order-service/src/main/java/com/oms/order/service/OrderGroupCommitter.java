@@ -0,0 +1,144 @@
+package com.oms.order.service;
+
+import com.oms.order.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Collects concurrent order inserts for a short window and commits them as one batch
+ *
+ * The first caller of a window leads it: it waits up to the window (or until the batch is full),
+ * closes the batch and inserts it in one transaction on its own thread, then hands every caller
+ * its stored order. A leader with no other insert in progress commits straight away, so a quiet
+ * service pays no extra latency. If the batch is rejected by a constraint, its orders are retried one
+ * per transaction, so one bad order only fails its own request. Any other failure fails the whole
+ * batch: the commit may have gone through, and retrying could store the orders twice.
+ */
+class OrderGroupCommitter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderGroupCommitter.class);
+    
+    private final Consumer<List<Order>> batchInsert;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+    
+    // Callers currently inside insert(), in any batch
+    private final AtomicInteger active = new AtomicInteger();
+    
+    private Batch open;
+    
+    OrderGroupCommitter(Consumer<List<Order>> batchInsert,
+                        long windowMs,
+                        int maxBatchSize,
+                        MeterRegistry meterRegistry) {
+        this.batchInsert = batchInsert;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("orders.group_commit.batch_size")
+                .description("Orders inserted per commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("orders.group_commit.fallbacks")
+                .description("Batches that failed and were retried one order per transaction")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Insert a new order, possibly together with concurrent ones
+     * @return the order with its generated ID
+     */
+    Order insert(Order order) {
+        active.incrementAndGet();
+        try {
+            Batch batch;
+            boolean leader;
+            CompletableFuture<Order> result = new CompletableFuture<>();
+            synchronized (this) {
+                leader = open == null;
+                if (leader) {
+                    open = new Batch();
+                }
+                batch = open;
+                batch.entries.add(new Entry(order, result));
+                if (batch.entries.size() >= maxBatchSize) {
+                    open = null;
+                    batch.full.countDown();
+                }
+            }
+            if (leader) {
+                lead(batch);
+            }
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+    
+    private void lead(Batch batch) {
+        if (active.get() > 1) {
+            try {
+                batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (open == batch) {
+                open = null;
+            }
+        }
+        // Closed: nobody adds entries any more
+        List<Entry> entries = batch.entries;
+        batchSizes.record(entries.size());
+        try {
+            batchInsert.accept(entries.stream().map(Entry::order).toList());
+            entries.forEach(entry -> entry.result().complete(entry.order()));
+            return;
+        } catch (DataIntegrityViolationException e) {
+            if (entries.size() == 1) {
+                entries.get(0).result().completeExceptionally(e);
+                return;
+            }
+            fallbacks.increment();
+            logger.warn("Group commit of {} orders failed, inserting them one by one: {}", entries.size(), e.getMessage());
+        } catch (RuntimeException e) {
+            entries.forEach(entry -> entry.result().completeExceptionally(e));
+            return;
+        }
+        for (Entry entry : entries) {
+            try {
+                batchInsert.accept(List.of(entry.order()));
+                entry.result().complete(entry.order());
+            } catch (RuntimeException e) {
+                entry.result().completeExceptionally(e);
+            }
+        }
+    }
+    
+    private record Entry(Order order, CompletableFuture<Order> result) {}
+    
+    private static final class Batch {
+        final List<Entry> entries = new ArrayList<>();
+        final CountDownLatch full = new CountDownLatch(1);
+    }
+}
@@ -1,20 +1,39 @@
 package com.oms.order.service;
 
+import com.oms.order.archive.OrderArchive;
 import com.oms.order.client.UserServiceClient;
+import com.oms.order.dto.BulkStatusUpdateResponseDto;
 import com.oms.order.dto.CreateOrderRequestDto;
 import com.oms.order.dto.OrderEventDto;
+import com.oms.order.dto.OrderLookupDto;
 import com.oms.order.dto.OrderResponseDto;
+import com.oms.order.dto.OrderStatusHistoryDto;
 import com.oms.order.entity.Order;
 import com.oms.order.entity.OrderStatus;
+import com.oms.order.entity.OrderStatusHistory;
+import com.oms.order.event.OrderChangedEvent;
+import com.oms.order.exception.BadRequestException;
 import com.oms.order.exception.OrderNotFoundException;
 import com.oms.order.exception.UnauthorizedException;
 import com.oms.order.repository.OrderRepository;
+import com.oms.order.repository.OrderRepositoryCustom;
+import com.oms.order.repository.OrderStatusHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,18 +42,52 @@ public class OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
     
     private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
     private final UserServiceClient userServiceClient;
+    private final OrderArchive orderArchive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    // Null unless orders.group-commit.enabled
+    private final OrderGroupCommitter groupCommitter;
     
     @Autowired(required = false)
     private KafkaProducerService kafkaProducerService;
     
-    public OrderService(OrderRepository orderRepository, UserServiceClient userServiceClient) {
+    @Autowired(required = false)
+    private UserOrderReadModel userOrderReadModel;
+    
+    @Value("${orders.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+    
+    @Value("${orders.bulk.max-ids:10000}")
+    private int bulkMaxIds;
+    
+    @Value("${orders.multi-get.max-ids:100}")
+    private int multiGetMaxIds;
+    
+    public OrderService(OrderRepository orderRepository,
+                        OrderStatusHistoryRepository statusHistoryRepository,
+                        UserServiceClient userServiceClient,
+                        OrderArchive orderArchive,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${orders.group-commit.enabled:false}") boolean groupCommitEnabled,
+                        @Value("${orders.group-commit.window-ms:2}") long groupCommitWindowMs,
+                        @Value("${orders.group-commit.max-batch-size:64}") int groupCommitMaxBatchSize) {
         this.orderRepository = orderRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
         this.userServiceClient = userServiceClient;
+        this.orderArchive = orderArchive;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.groupCommitter = groupCommitEnabled
+            ? new OrderGroupCommitter(this::insertOrders, groupCommitWindowMs, groupCommitMaxBatchSize, meterRegistry)
+            : null;
     }
     
     public OrderResponseDto createOrder(CreateOrderRequestDto request, String username, String token) {
-        // Get real user ID from Auth Service
+        // Get real user ID from Auth Service (outside the transaction so no connection is held during the call)
         Long userId = getUserIdFromToken(token, username);
         
         Order order = new Order();
@@ -44,40 +97,78 @@ public class OrderService {
         order.setPrice(request.getPrice());
         order.setStatus(OrderStatus.PENDING);
         
-        Order savedOrder = orderRepository.save(order);
-        logger.info("Order created successfully: {} for user: {}", savedOrder.getId(), userId);
-        
-        // Send order event to Kafka if available
-        if (kafkaProducerService != null) {
-            try {
-                OrderEventDto orderEvent = new OrderEventDto(
-                    savedOrder.getId(),
-                    savedOrder.getUserId(),
-                    savedOrder.getProductName(),
-                    savedOrder.getQuantity(),
-                    savedOrder.getTotalAmount(),
-                    savedOrder.getStatus(),
-                    "ORDER_CREATED"
-                );
-                kafkaProducerService.sendOrderEvent(orderEvent);
-                logger.info("Order event sent to Kafka for order: {}", savedOrder.getId());
-            } catch (Exception e) {
-                logger.warn("Failed to send order event to Kafka: {}", e.getMessage());
-                // Don't fail the order creation if Kafka fails
-            }
+        Order savedOrder;
+        if (groupCommitter != null) {
+            // Shares one transaction and commit with concurrent creates
+            savedOrder = groupCommitter.insert(order);
         } else {
-            logger.info("Kafka is disabled - order event not sent");
+            savedOrder = transactionTemplate.execute(status -> {
+                Order saved = orderRepository.save(order);
+                recordTransition(saved, null, saved.getCreatedAt());
+                publishOrderEvent(saved, "ORDER_CREATED");
+                return saved;
+            });
         }
+        logger.atInfo().addKeyValue("orderId", savedOrder.getId()).addKeyValue("userId", userId).log("Order created");
         
         return convertToDto(savedOrder);
     }
     
+    /**
+     * Insert several new orders in one transaction: one JDBC batch for the orders, one for their history
+     * The ORDER_CREATED events go out together in one Kafka transaction after the commit.
+     * Submissions that are already stored are skipped and left without an ID.
+     * @param orders new orders with user, product, quantity and price set; createdAt is kept if present
+     */
+    public void insertOrders(List<Order> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Order order : orders) {
+            if (order.getCreatedAt() == null) {
+                order.setCreatedAt(now);
+            }
+            order.setUpdatedAt(order.getCreatedAt());
+            order.setTotalAmount(order.getPrice().times(order.getQuantity()));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.insertAll(orders);
+            List<OrderStatusHistory> history = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                if (order.getId() == null) {
+                    continue;
+                }
+                history.add(new OrderStatusHistory(order.getId(), order.getUserId(), null,
+                    order.getStatus(), order.getCreatedAt()));
+                publishOrderEvent(order, "ORDER_CREATED");
+            }
+            statusHistoryRepository.saveAll(history);
+        });
+    }
+    
     public List<OrderResponseDto> getOrdersByUser(String username, String token) {
         // Get real user ID from Auth Service
         Long userId = getUserIdFromToken(token, username);
         
+        if (userOrderReadModel != null) {
+            return userOrderReadModel.getOrders(userId, () -> loadOrdersByUser(userId));
+        }
+        return loadOrdersByUser(userId);
+    }
+    
+    /**
+     * Load a user's orders into the read model, if it is enabled
+     * @return false when there is no read model to fill
+     */
+    public boolean preloadOrdersByUser(Long userId) {
+        if (userOrderReadModel == null) {
+            return false;
+        }
+        userOrderReadModel.getOrders(userId, () -> loadOrdersByUser(userId));
+        return true;
+    }
+    
+    private List<OrderResponseDto> loadOrdersByUser(Long userId) {
         List<Order> orders = orderRepository.findByUserId(userId);
-        logger.info("Retrieved {} orders for user: {}", orders.size(), userId);
+        logger.atDebug().addKeyValue("userId", userId).addKeyValue("count", orders.size()).log("Loaded user orders");
         
         return orders.stream()
                 .map(this::convertToDto)
@@ -85,8 +176,7 @@ public class OrderService {
     }
     
     public OrderResponseDto getOrderById(Long orderId, String username, String token) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+        Order order = findOrderIncludingArchive(orderId);
         
         // Get real user ID from Auth Service
         Long userId = getUserIdFromToken(token, username);
@@ -98,83 +188,238 @@ public class OrderService {
         return convertToDto(order);
     }
     
-    public OrderResponseDto updateOrderStatus(Long orderId, OrderStatus newStatus, String username, String token) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+    /**
+     * Fetch several of the caller's orders with one auth lookup and one query
+     * Ownership is part of the query, so other users' orders come back as not found, like missing ones.
+     * @param orderIds order IDs; duplicates are allowed
+     * @return one entry per requested ID, in request order
+     */
+    public List<OrderLookupDto> getOrdersByIds(List<Long> orderIds, String username, String token) {
+        if (orderIds.size() > multiGetMaxIds) {
+            throw new BadRequestException("At most " + multiGetMaxIds + " order IDs per request");
+        }
+        if (orderIds.contains(null)) {
+            throw new BadRequestException("Order IDs must not be null");
+        }
+        Long userId = getUserIdFromToken(token, username);
         
+        Map<Long, Order> orders = new HashMap<>();
+        LinkedHashSet<Long> distinctIds = new LinkedHashSet<>(orderIds);
+        if (!distinctIds.isEmpty()) {
+            for (Order order : orderRepository.findByIdInAndUserId(distinctIds, userId)) {
+                orders.put(order.getId(), order);
+            }
+        }
+        for (Long orderId : distinctIds) {
+            if (!orders.containsKey(orderId)) {
+                // Moved out by archival; only misses pay for the segment lookup
+                orderArchive.find(orderId)
+                    .filter(order -> userId.equals(order.getUserId()))
+                    .ifPresent(order -> orders.put(orderId, order));
+            }
+        }
+        
+        List<OrderLookupDto> results = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            Order order = orders.get(orderId);
+            results.add(new OrderLookupDto(orderId, order != null, order != null ? convertToDto(order) : null));
+        }
+        return results;
+    }
+    
+    public OrderResponseDto updateOrderStatus(Long orderId, OrderStatus newStatus, String username, String token) {
         // Get real user ID from Auth Service
         Long userId = getUserIdFromToken(token, username);
         
-        if (!order.getUserId().equals(userId)) {
-            throw new UnauthorizedException("You are not authorized to update this order");
+        Order updatedOrder = transactionTemplate.execute(status -> {
+            Order order = findOrder(orderId);
+            
+            if (!order.getUserId().equals(userId)) {
+                throw new UnauthorizedException("You are not authorized to update this order");
+            }
+            
+            OrderStatus previousStatus = order.getStatus();
+            order.setStatus(newStatus);
+            // Flush so @PreUpdate stamps updatedAt before the change is published
+            Order saved = orderRepository.saveAndFlush(order);
+            recordTransition(saved, previousStatus, LocalDateTime.now());
+            publishOrderEvent(saved, "ORDER_UPDATED");
+            return saved;
+        });
+        logger.atInfo()
+            .addKeyValue("orderId", orderId)
+            .addKeyValue("status", newStatus)
+            .addKeyValue("userId", userId)
+            .log("Order status updated");
+        
+        return convertToDto(updatedOrder);
+    }
+    
+    /**
+     * Move many of the caller's orders to one status
+     * Each chunk is one transaction: a single conditional UPDATE, batched history inserts and
+     * one Kafka transaction for its events after commit. Chunks that committed stay committed
+     * if a later one fails.
+     * @return outcome per distinct order ID, in request order
+     */
+    public BulkStatusUpdateResponseDto bulkUpdateStatus(List<Long> orderIds, OrderStatus newStatus, String username, String token) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        if (distinctIds.size() > bulkMaxIds) {
+            throw new BadRequestException("At most " + bulkMaxIds + " orders per bulk update");
         }
         
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
-        logger.info("Order status updated: {} -> {} for user: {}", orderId, newStatus, userId);
+        // One auth lookup for the whole request
+        Long userId = getUserIdFromToken(token, username);
         
-        // Send order update event to Kafka if available
-        if (kafkaProducerService != null) {
-            try {
-                OrderEventDto orderEvent = new OrderEventDto(
-                    updatedOrder.getId(),
-                    updatedOrder.getUserId(),
-                    updatedOrder.getProductName(),
-                    updatedOrder.getQuantity(),
-                    updatedOrder.getTotalAmount(),
-                    updatedOrder.getStatus(),
-                    "ORDER_UPDATED"
-                );
-                kafkaProducerService.sendOrderEvent(orderEvent);
-                logger.info("Order update event sent to Kafka for order: {}", updatedOrder.getId());
-            } catch (Exception e) {
-                logger.warn("Failed to send order update event to Kafka: {}", e.getMessage());
-            }
-        } else {
-            logger.info("Kafka is disabled - order update event not sent");
+        Map<Long, BulkStatusUpdateResponseDto.Result> results = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += bulkChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + bulkChunkSize, distinctIds.size()));
+            transactionTemplate.executeWithoutResult(status -> transitionChunk(chunk, userId, newStatus, results));
         }
         
-        return convertToDto(updatedOrder);
+        BulkStatusUpdateResponseDto response = new BulkStatusUpdateResponseDto(newStatus,
+            distinctIds.stream().map(results::get).collect(Collectors.toList()));
+        logger.atInfo()
+            .addKeyValue("status", newStatus)
+            .addKeyValue("userId", userId)
+            .addKeyValue("requested", distinctIds.size())
+            .addKeyValue("updated", response.getCounts().get(BulkStatusUpdateResponseDto.Outcome.UPDATED))
+            .log("Bulk order status update");
+        return response;
     }
     
-    public void cancelOrder(Long orderId, String username, String token) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+    private void transitionChunk(List<Long> chunk, Long userId, OrderStatus newStatus,
+                                 Map<Long, BulkStatusUpdateResponseDto.Result> results) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderRepositoryCustom.StatusTransition> transitions =
+            orderRepository.transitionStatus(chunk, userId, newStatus, now);
+        recordBulkTransitions(transitions, now, "ORDER_UPDATED");
+        for (OrderRepositoryCustom.StatusTransition transition : transitions) {
+            Long id = transition.order().getId();
+            results.put(id, new BulkStatusUpdateResponseDto.Result(
+                id, BulkStatusUpdateResponseDto.Outcome.UPDATED, transition.previousStatus()));
+        }
         
+        // Whatever the UPDATE skipped is classified from a plain read of the leftovers
+        List<Long> skipped = chunk.stream().filter(id -> !results.containsKey(id)).collect(Collectors.toList());
+        if (skipped.isEmpty()) {
+            return;
+        }
+        Map<Long, Order> existing = orderRepository.findAllById(skipped).stream()
+            .collect(Collectors.toMap(Order::getId, order -> order));
+        for (Long id : skipped) {
+            Order order = existing.get(id);
+            BulkStatusUpdateResponseDto.Result result;
+            if (order == null) {
+                result = new BulkStatusUpdateResponseDto.Result(id, BulkStatusUpdateResponseDto.Outcome.NOT_FOUND, null);
+            } else if (!order.getUserId().equals(userId)) {
+                result = new BulkStatusUpdateResponseDto.Result(id, BulkStatusUpdateResponseDto.Outcome.FORBIDDEN, null);
+            } else {
+                result = new BulkStatusUpdateResponseDto.Result(id, BulkStatusUpdateResponseDto.Outcome.UNCHANGED, order.getStatus());
+            }
+            results.put(id, result);
+        }
+    }
+    
+    public void cancelOrder(Long orderId, String username, String token) {
         // Get real user ID from Auth Service
         Long userId = getUserIdFromToken(token, username);
         
+        transactionTemplate.execute(status -> {
+            Order order = findOrder(orderId);
+            
+            if (!order.getUserId().equals(userId)) {
+                throw new UnauthorizedException("You are not authorized to cancel this order");
+            }
+            
+            OrderStatus previousStatus = order.getStatus();
+            order.setStatus(OrderStatus.CANCELLED);
+            Order saved = orderRepository.saveAndFlush(order);
+            recordTransition(saved, previousStatus, LocalDateTime.now());
+            publishOrderEvent(saved, "ORDER_CANCELLED");
+            return saved;
+        });
+        logger.atInfo().addKeyValue("orderId", orderId).addKeyValue("userId", userId).log("Order cancelled");
+        
+    }
+    
+    /**
+     * Get the full status history of an order
+     * @param orderId order ID
+     * @param username authenticated username
+     * @param token JWT token
+     * @return transitions in chronological order
+     */
+    public List<OrderStatusHistoryDto> getOrderHistory(Long orderId, String username, String token) {
+        Order order = findOrderIncludingArchive(orderId);
+        
+        Long userId = getUserIdFromToken(token, username);
+        
         if (!order.getUserId().equals(userId)) {
-            throw new UnauthorizedException("You are not authorized to cancel this order");
+            throw new UnauthorizedException("You are not authorized to view this order");
         }
         
-        order.setStatus(OrderStatus.CANCELLED);
-        Order cancelledOrder = orderRepository.save(order);
-        logger.info("Order cancelled: {} for user: {}", orderId, userId);
+        return statusHistoryRepository.findByOrderIdOrderByChangedAtAscIdAsc(orderId).stream()
+                .map(h -> new OrderStatusHistoryDto(h.getOrderId(), h.getFromStatus(), h.getToStatus(), h.getChangedAt()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get an order as it was at a given point in time
+     * Only the status changes over an order's life, so the state is the current row
+     * with the status taken from the latest transition at or before asOf
+     * @param orderId order ID
+     * @param asOf point in time
+     * @param username authenticated username
+     * @param token JWT token
+     * @return order state as of the given time
+     */
+    public OrderResponseDto getOrderStateAsOf(Long orderId, LocalDateTime asOf, String username, String token) {
+        Order order = findOrderIncludingArchive(orderId);
         
-        // Send order cancellation event to Kafka if available
-        if (kafkaProducerService != null) {
-            try {
-                OrderEventDto orderEvent = new OrderEventDto(
-                    cancelledOrder.getId(),
-                    cancelledOrder.getUserId(),
-                    cancelledOrder.getProductName(),
-                    cancelledOrder.getQuantity(),
-                    cancelledOrder.getTotalAmount(),
-                    cancelledOrder.getStatus(),
-                    "ORDER_CANCELLED"
-                );
-                kafkaProducerService.sendOrderEvent(orderEvent);
-                logger.info("Order cancellation event sent to Kafka for order: {}", cancelledOrder.getId());
-            } catch (Exception e) {
-                logger.warn("Failed to send order cancellation event to Kafka: {}", e.getMessage());
-            }
-        } else {
-            logger.info("Kafka is disabled - order cancellation event not sent");
+        Long userId = getUserIdFromToken(token, username);
+        
+        if (!order.getUserId().equals(userId)) {
+            throw new UnauthorizedException("You are not authorized to view this order");
+        }
+        
+        if (order.getCreatedAt() != null && asOf.isBefore(order.getCreatedAt())) {
+            throw new OrderNotFoundException("Order " + orderId + " did not exist at " + asOf);
         }
+        
+        OrderResponseDto state = convertToDto(order);
+        statusHistoryRepository.findFirstByOrderIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(orderId, asOf)
+                .ifPresent(h -> {
+                    state.setStatus(h.getToStatus());
+                    state.setUpdatedAt(h.getChangedAt());
+                });
+        // Orders created before history was recorded fall back to their current state
+        return state;
+    }
+    
+    /**
+     * Load a live order or fail with OrderNotFoundException
+     * Archived orders are read-only and deliberately not returned here
+     * @param orderId order ID
+     * @return order entity
+     */
+    public Order findOrder(Long orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+    }
+    
+    /**
+     * Load an order from the hot table, falling back to the archived segments
+     * @param orderId order ID
+     * @return order entity (detached if it came from the archive)
+     */
+    public Order findOrderIncludingArchive(Long orderId) {
+        return orderRepository.findById(orderId)
+                .or(() -> orderArchive.find(orderId))
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
     }
     
-    private OrderResponseDto convertToDto(Order order) {
+    public OrderResponseDto convertToDto(Order order) {
         return new OrderResponseDto(
             order.getId(),
             order.getUserId(),
@@ -188,13 +433,86 @@ public class OrderService {
         );
     }
     
+    /**
+     * Cancel one chunk of PENDING orders created before the cutoff, in its own short transaction
+     * Rows locked by live requests are skipped, so concurrent runs never wait on them or on each other.
+     * @return number of orders cancelled; 0 when nothing is left to claim
+     */
+    public int expireStalePendingOrders(LocalDateTime createdBefore, int limit) {
+        Integer expired = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OrderRepositoryCustom.StatusTransition> transitions = orderRepository.transitionStale(
+                OrderStatus.PENDING, createdBefore, limit, OrderStatus.CANCELLED, now);
+            recordBulkTransitions(transitions, now, "ORDER_CANCELLED");
+            return transitions.size();
+        });
+        return expired != null ? expired : 0;
+    }
+    
+    /**
+     * History rows and events for orders changed by a set-based UPDATE
+     * History is inserted as one JDBC batch; events are queued on the transaction and sent together after commit.
+     */
+    private void recordBulkTransitions(List<OrderRepositoryCustom.StatusTransition> transitions,
+                                       LocalDateTime changedAt, String eventType) {
+        List<OrderStatusHistory> history = new ArrayList<>(transitions.size());
+        for (OrderRepositoryCustom.StatusTransition transition : transitions) {
+            Order order = transition.order();
+            history.add(new OrderStatusHistory(order.getId(), order.getUserId(), transition.previousStatus(),
+                order.getStatus(), changedAt));
+            publishOrderEvent(order, eventType);
+        }
+        statusHistoryRepository.saveAll(history);
+    }
+    
+    /**
+     * Append a history row for a status transition; must run inside the transition's transaction
+     */
+    private void recordTransition(Order order, OrderStatus fromStatus, LocalDateTime changedAt) {
+        statusHistoryRepository.save(new OrderStatusHistory(
+            order.getId(),
+            order.getUserId(),
+            fromStatus,
+            order.getStatus(),
+            changedAt != null ? changedAt : LocalDateTime.now()
+        ));
+    }
+    
+    /**
+     * Publish an order change in-process and to Kafka if available
+     * Called inside the DB transaction: the Kafka event goes out in a Kafka transaction only once
+     * the order change has committed, and not at all if it rolls back
+     */
+    private void publishOrderEvent(Order order, String eventType) {
+        eventPublisher.publishEvent(new OrderChangedEvent(convertToDto(order), eventType));
+        
+        if (kafkaProducerService == null) {
+            logger.atDebug().addKeyValue("eventType", eventType).log("Kafka is disabled - event not sent");
+            return;
+        }
+        OrderEventDto orderEvent = new OrderEventDto(
+            order.getId(),
+            order.getUserId(),
+            order.getProductName(),
+            order.getQuantity(),
+            order.getTotalAmount(),
+            order.getStatus(),
+            eventType
+        );
+        orderEvent.setPrice(order.getPrice());
+        orderEvent.setCreatedAt(order.getCreatedAt());
+        orderEvent.setUpdatedAt(order.getUpdatedAt());
+        kafkaProducerService.sendOrderEvent(orderEvent);
+        logger.atDebug().addKeyValue("orderId", order.getId()).addKeyValue("eventType", eventType).log("Order event queued");
+    }
+    
     /**
      * Get real user ID from Auth Service using JWT token
      * @param token JWT token
      * @param username fallback username
      * @return real user ID
      */
-    private Long getUserIdFromToken(String token, String username) {
+    public Long getUserIdFromToken(String token, String username) {
         if (token != null) {
             try {
                 UserServiceClient.UserDetails userDetails = userServiceClient.getUserDetails(token);
@@ -212,4 +530,4 @@ public class OrderService {
         logger.warn("Using fallback user ID: {} for username: {}", fallbackId, username);
         return fallbackId;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.oms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.OrderEventDto;
+import com.oms.order.dto.OrderInsightsDto;
+import com.oms.order.sketch.CountMinSketch;
+import com.oms.order.sketch.Hashing;
+import com.oms.order.sketch.HyperLogLog;
+import com.oms.order.sketch.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Constant-memory "top products" and distinct-buyer counts over placed orders
+ *
+ * Products (weighted by quantity) are counted in a count-min sketch that feeds a fixed-size
+ * heavy-hitter list. Every window all counts are multiplied by the decay factor, so the view follows
+ * recent traffic. Distinct buyers are counted with two HyperLogLogs, the current and the previous
+ * window. Buyers are only counted, never listed, because any logged-in customer can read the insights.
+ * Each instance reads the whole order-events stream, so every instance shows the same picture.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.sketches.enabled", havingValue = "true")
+public class OrderStreamSketches {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderStreamSketches.class);
+    
+    private final ObjectMapper objectMapper;
+    private final double epsilon;
+    private final double decayFactor;
+    
+    private final CountMinSketch productCounts;
+    private final TopK<String> topProducts;
+    private HyperLogLog currentBuyers;
+    private HyperLogLog previousBuyers;
+    private LocalDateTime windowStartedAt = LocalDateTime.now();
+    
+    public OrderStreamSketches(ObjectMapper objectMapper,
+                               @Value("${orders.sketches.epsilon:0.001}") double epsilon,
+                               @Value("${orders.sketches.delta:0.01}") double delta,
+                               @Value("${orders.sketches.distinct-error:0.01}") double distinctError,
+                               @Value("${orders.sketches.top-k:50}") int topK,
+                               @Value("${orders.sketches.decay:0.5}") double decayFactor) {
+        this.objectMapper = objectMapper;
+        this.epsilon = epsilon;
+        this.decayFactor = decayFactor;
+        this.productCounts = new CountMinSketch(epsilon, delta);
+        this.topProducts = new TopK<>(topK);
+        this.currentBuyers = new HyperLogLog(distinctError);
+        this.previousBuyers = new HyperLogLog(distinctError);
+    }
+    
+    @KafkaListener(
+        topics = "${kafka.topics.order-events:order-events}",
+        groupId = "order-sketches-${HOSTNAME:local}",
+        autoStartup = "${kafka.enabled:false}",
+        properties = {"auto.offset.reset=latest", "isolation.level=read_committed"}
+    )
+    public void onOrderEvent(@Payload String rawMessage,
+                             @Header(name = OrderEventTopicMigrator.MIGRATED_FROM_HEADER, required = false) byte[] migratedFrom) {
+        if (migratedFrom != null) {
+            return;
+        }
+        try {
+            OrderEventDto event = objectMapper.readValue(rawMessage, OrderEventDto.class);
+            if ("ORDER_CREATED".equals(event.getEventType()) && event.getProductName() != null && event.getUserId() != null) {
+                record(event.getProductName(), event.getUserId(), event.getQuantity() == null ? 1 : event.getQuantity());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to apply order event to sketches: {}", e.getMessage());
+        }
+    }
+    
+    synchronized void record(String productName, long userId, int quantity) {
+        topProducts.offer(productName, productCounts.add(Hashing.hash(productName), quantity));
+        currentBuyers.add(Hashing.mix(userId));
+    }
+    
+    /**
+     * Age all counts by the decay factor and start a new distinct-buyer window
+     */
+    @Scheduled(fixedDelayString = "${orders.sketches.window-ms:3600000}",
+               initialDelayString = "${orders.sketches.window-ms:3600000}")
+    public synchronized void rollWindow() {
+        productCounts.decay(decayFactor);
+        topProducts.decay(decayFactor);
+        
+        HyperLogLog recycled = previousBuyers;
+        recycled.clear();
+        previousBuyers = currentBuyers;
+        currentBuyers = recycled;
+        windowStartedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * @param limit max entries per top list (capped at orders.sketches.top-k)
+     */
+    public synchronized OrderInsightsDto snapshot(int limit) {
+        OrderInsightsDto insights = new OrderInsightsDto();
+        insights.setTopProducts(topProducts.top(limit));
+        insights.setDistinctBuyers(currentBuyers.estimateUnion(previousBuyers));
+        // Count-min estimates overcount by at most epsilon * total (with probability 1 - delta)
+        insights.setProductErrorBound((long) Math.ceil(epsilon * productCounts.total()));
+        insights.setWindowStartedAt(windowStartedAt);
+        return insights;
+    }
+}
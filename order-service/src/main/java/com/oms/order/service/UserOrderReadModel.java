@@ -0,0 +1,196 @@
+package com.oms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.OrderEventDto;
+import com.oms.order.dto.OrderResponseDto;
+import com.oms.order.event.OrderChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory read model of recent orders per user (CQRS query side for order lists)
+ *
+ * Entries are loaded from the DB on the first read of a user and then kept current from the
+ * order-events stream, so changes made on other instances show up too. Local writes are also
+ * applied after commit for read-your-writes. Each order keeps the copy with the newest
+ * updatedAt, which makes the two feeds and the DB load safe to interleave.
+ *
+ * An entry is only served once it holds all of the user's orders; users with more orders than
+ * the per-user bound always read from the DB. Cold users are evicted LRU. Orders moved out by
+ * archival stay in a cached list until the user is evicted.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.read-model.enabled", havingValue = "true")
+public class UserOrderReadModel {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserOrderReadModel.class);
+    
+    private final Map<Long, UserOrders> users;
+    private final int maxOrdersPerUser;
+    private final ObjectMapper objectMapper;
+    
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleEvents;
+    private final Timer eventLag;
+    
+    public UserOrderReadModel(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.read-model.max-users:10000}") int maxUsers,
+                              @Value("${orders.read-model.max-orders-per-user:200}") int maxOrdersPerUser) {
+        this.objectMapper = objectMapper;
+        this.maxOrdersPerUser = maxOrdersPerUser;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserOrders> eldest) {
+                return size() > maxUsers;
+            }
+        });
+        
+        this.hits = Counter.builder("orders.read_model.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("orders.read_model.requests").tag("result", "miss").register(meterRegistry);
+        this.staleEvents = Counter.builder("orders.read_model.stale_events")
+                .description("Events older than the cached copy of the order")
+                .register(meterRegistry);
+        this.eventLag = Timer.builder("orders.read_model.event_lag")
+                .description("Time from the order change to it being applied from order-events")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orders.read_model.users", users, Map::size).register(meterRegistry);
+    }
+    
+    /**
+     * Get a user's orders from memory, loading them from the DB on a miss
+     * @param userId user ID
+     * @param loader DB query for the user's orders
+     * @return the user's orders, oldest first
+     */
+    public List<OrderResponseDto> getOrders(Long userId, Supplier<List<OrderResponseDto>> loader) {
+        // Register the entry before loading so events committed during the DB read are not lost
+        UserOrders entry = users.computeIfAbsent(userId, id -> new UserOrders());
+        List<OrderResponseDto> cached = entry.snapshotIfComplete();
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        
+        List<OrderResponseDto> loaded = loader.get();
+        if (loaded.size() <= maxOrdersPerUser) {
+            entry.completeWith(loaded);
+        } else {
+            users.remove(userId, entry);
+        }
+        return loaded;
+    }
+    
+    @TransactionalEventListener
+    public void onLocalChange(OrderChangedEvent event) {
+        apply(event.order());
+    }
+    
+    @KafkaListener(
+        topics = "${kafka.topics.order-events:order-events}",
+        groupId = "order-read-model-${HOSTNAME:local}",
+        autoStartup = "${kafka.enabled:false}",
+        properties = {"auto.offset.reset=latest", "isolation.level=read_committed"}
+    )
+    public void onOrderEvent(String rawMessage) {
+        try {
+            OrderEventDto event = objectMapper.readValue(rawMessage, OrderEventDto.class);
+            if (event.getUpdatedAt() == null) {
+                // Published before events carried the full order; can't be applied safely
+                return;
+            }
+            eventLag.record(Duration.between(event.getUpdatedAt(), LocalDateTime.now()));
+            apply(new OrderResponseDto(
+                event.getOrderId(),
+                event.getUserId(),
+                event.getProductName(),
+                event.getQuantity(),
+                event.getPrice(),
+                event.getTotalAmount(),
+                event.getStatus(),
+                event.getCreatedAt(),
+                event.getUpdatedAt()
+            ));
+        } catch (Exception e) {
+            logger.warn("Failed to apply order event to read model: {}", e.getMessage());
+        }
+    }
+    
+    private void apply(OrderResponseDto order) {
+        UserOrders entry = users.get(order.getUserId());
+        if (entry != null && !entry.upsert(order, maxOrdersPerUser)) {
+            staleEvents.increment();
+        }
+    }
+    
+    /**
+     * Orders of one user; complete once the DB load has been merged in
+     */
+    private static final class UserOrders {
+        
+        private final Map<Long, OrderResponseDto> orders = new HashMap<>();
+        private boolean complete;
+        
+        synchronized List<OrderResponseDto> snapshotIfComplete() {
+            if (!complete) {
+                return null;
+            }
+            List<OrderResponseDto> snapshot = new ArrayList<>(orders.values());
+            snapshot.sort(Comparator.comparing(OrderResponseDto::getId));
+            return snapshot;
+        }
+        
+        synchronized void completeWith(List<OrderResponseDto> loaded) {
+            for (OrderResponseDto order : loaded) {
+                mergeNewer(order);
+            }
+            complete = true;
+        }
+        
+        /**
+         * @return false if the cached copy was already newer
+         */
+        synchronized boolean upsert(OrderResponseDto order, int maxOrders) {
+            if (!orders.containsKey(order.getId()) && orders.size() >= maxOrders) {
+                // Over the bound the list can't be served whole any more
+                orders.clear();
+                complete = false;
+                return true;
+            }
+            return mergeNewer(order);
+        }
+        
+        private boolean mergeNewer(OrderResponseDto order) {
+            OrderResponseDto current = orders.get(order.getId());
+            if (current != null && current.getUpdatedAt() != null && order.getUpdatedAt() != null
+                    && current.getUpdatedAt().isAfter(order.getUpdatedAt())) {
+                return false;
+            }
+            orders.put(order.getId(), order);
+            return true;
+        }
+    }
+}
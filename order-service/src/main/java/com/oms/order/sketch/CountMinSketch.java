@@ -0,0 +1,76 @@
+package com.oms.order.sketch;
+
+/**
+ * Count-min sketch with conservative update, in one flat long array
+ * Estimates never undercount and overcount by at most epsilon * total with probability 1 - delta.
+ * Not thread-safe.
+ */
+public final class CountMinSketch {
+    
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+    
+    /**
+     * @param epsilon relative error bound (width = e / epsilon)
+     * @param delta probability of exceeding the bound (depth = ln(1 / delta))
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+        }
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new long[width * depth];
+    }
+    
+    /**
+     * Add to an item's count
+     * @param hash 64-bit hash of the item (see Hashing)
+     * @return the item's new estimate
+     */
+    public long add(long hash, long count) {
+        long estimate = estimate(hash) + count;
+        // Conservative update: only raise counters that would otherwise fall below the new estimate
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            if (counters[index] < estimate) {
+                counters[index] = estimate;
+            }
+        }
+        total += count;
+        return estimate;
+    }
+    
+    public long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(hash, row)]);
+        }
+        return min;
+    }
+    
+    /**
+     * Scale every counter down, so older counts weigh less than recent ones
+     */
+    public void decay(double factor) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = (long) (counters[i] * factor);
+        }
+        total = (long) (total * factor);
+    }
+    
+    /**
+     * @return sum of all added counts (after decay)
+     */
+    public long total() {
+        return total;
+    }
+    
+    // Row hashes derived from the two halves of one 64-bit hash (Kirsch-Mitzenmacher)
+    private int index(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return row * width + (combined & Integer.MAX_VALUE) % width;
+    }
+}
@@ -0,0 +1,34 @@
+package com.oms.order.sketch;
+
+/**
+ * 64-bit hashes for the sketches; allocation-free
+ */
+public final class Hashing {
+    
+    private Hashing() {}
+    
+    /**
+     * FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer so every output bit is usable
+     */
+    public static long hash(CharSequence text) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+    
+    /**
+     * MurmurHash3 fmix64 finalizer
+     */
+    public static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,72 @@
+package com.oms.order.sketch;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter over a byte register array
+ * Relative standard error is about 1.04 / sqrt(2^precision). Not thread-safe.
+ */
+public final class HyperLogLog {
+    
+    private final int precision;
+    private final byte[] registers;
+    
+    /**
+     * @param relativeError target standard error, e.g. 0.01 (gives 2^14 registers)
+     */
+    public HyperLogLog(double relativeError) {
+        if (relativeError <= 0 || relativeError >= 1) {
+            throw new IllegalArgumentException("relativeError must be in (0, 1)");
+        }
+        double registersNeeded = Math.pow(1.04 / relativeError, 2);
+        this.precision = Math.max(4, Math.min(18, (int) Math.ceil(Math.log(registersNeeded) / Math.log(2))));
+        this.registers = new byte[1 << precision];
+    }
+    
+    /**
+     * @param hash 64-bit hash of the item (see Hashing)
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Sentinel bit keeps the rank bounded when the remaining bits are all zero
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+    
+    public long estimate() {
+        return estimateUnion(this);
+    }
+    
+    /**
+     * Distinct count of the union of this and another sketch of the same precision, without merging them
+     */
+    public long estimateUnion(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Precision mismatch");
+        }
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < m; i++) {
+            int rank = Math.max(registers[i], other.registers[i]);
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double raw = alpha * m * m / sum;
+        if (raw <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(raw);
+    }
+    
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.oms.order.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-capacity heavy-hitter candidates, fed with estimates from a CountMinSketch
+ * A new item replaces the current minimum once its estimate exceeds it. Not thread-safe.
+ */
+public final class TopK<K> {
+    
+    private final int capacity;
+    private final Object[] keys;
+    private final long[] estimates;
+    private final Map<K, Integer> slots;
+    private int size;
+    
+    public TopK(int capacity) {
+        this.capacity = capacity;
+        this.keys = new Object[capacity];
+        this.estimates = new long[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+    
+    public void offer(K key, long estimate) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            estimates[slot] = estimate;
+            return;
+        }
+        if (size < capacity) {
+            put(size++, key, estimate);
+            return;
+        }
+        int min = 0;
+        for (int i = 1; i < size; i++) {
+            if (estimates[i] < estimates[min]) {
+                min = i;
+            }
+        }
+        if (estimate > estimates[min]) {
+            slots.remove(keys[min]);
+            put(min, key, estimate);
+        }
+    }
+    
+    public void decay(double factor) {
+        for (int i = 0; i < size; i++) {
+            estimates[i] = (long) (estimates[i] * factor);
+        }
+    }
+    
+    /**
+     * @return up to limit entries, highest estimate first
+     */
+    @SuppressWarnings("unchecked")
+    public List<Entry<K>> top(int limit) {
+        List<Entry<K>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (estimates[i] > 0) {
+                entries.add(new Entry<>((K) keys[i], estimates[i]));
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry<K>::estimate).reversed());
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    private void put(int slot, K key, long estimate) {
+        keys[slot] = key;
+        estimates[slot] = estimate;
+        slots.put(key, slot);
+    }
+    
+    public record Entry<K>(K key, long estimate) {}
+}
@@ -0,0 +1,378 @@
+package com.oms.order.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oms.order.dto.CreateOrderRequestDto;
+import com.oms.order.dto.OrderSubmissionDto;
+import com.oms.order.entity.Money;
+import com.oms.order.entity.Order;
+import com.oms.order.entity.OrderStatus;
+import com.oms.order.exception.OrderNotFoundException;
+import com.oms.order.repository.OrderRepository;
+import com.oms.order.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accept-then-persist order submission
+ *
+ * A submission gets a locally generated ID, is appended to the on-disk journal and is acknowledged
+ * as soon as the journal write is durable; the database is not involved. Writer threads drain the
+ * queue in batches and store each batch with one JDBC batch insert in one transaction, whose
+ * ORDER_CREATED events then go out in one Kafka transaction.
+ *
+ * Orders are keyed by (submission ID, acceptance time) and inserts skip keys already stored, so a
+ * submission is stored once even when a batch is retried after a commit that did go through. After
+ * a crash the journal is replayed on startup, skipping submissions already in the database.
+ * Submission IDs are only unique with a distinct worker ID per instance, so one must be configured;
+ * lookups still match the acceptance time and owner, not the submission ID alone.
+ */
+@Service
+@ConditionalOnProperty(name = "orders.submissions.enabled", havingValue = "true")
+public class OrderSubmissionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderSubmissionService.class);
+    
+    private static final int REPLAY_CHUNK = 1000;
+    
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    
+    private final BlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Long, Submission> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Outcome> recentOutcomes;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running;
+    
+    private SnowflakeIdGenerator ids;
+    private SubmissionJournal journal;
+    
+    @Value("${orders.submissions.journal-dir:./data/order-submissions}")
+    private String journalDir;
+    
+    @Value("${orders.submissions.worker-id:-1}")
+    private int workerId;
+    
+    @Value("${orders.submissions.fsync:true}")
+    private boolean fsync;
+    
+    @Value("${orders.submissions.segment-records:10000}")
+    private int segmentRecords;
+    
+    @Value("${orders.submissions.writers:2}")
+    private int writerCount;
+    
+    @Value("${orders.submissions.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${orders.submissions.max-queued:50000}")
+    private int maxQueued;
+    
+    @Value("${orders.submissions.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+    
+    @Value("${orders.submissions.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+    
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Counter retried;
+    private final DistributionSummary batchSizes;
+    private final Timer persistLag;
+    
+    public OrderSubmissionService(OrderService orderService,
+                                  OrderRepository orderRepository,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${orders.submissions.status-cache-size:10000}") int statusCacheSize) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.recentOutcomes = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Outcome> eldest) {
+                return size() > statusCacheSize;
+            }
+        });
+        
+        this.accepted = Counter.builder("orders.submissions.accepted").register(meterRegistry);
+        this.rejected = Counter.builder("orders.submissions.rejected")
+                .description("Submissions refused with 503 because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("orders.submissions.failed")
+                .description("Submissions the database rejected; their orders were not created")
+                .register(meterRegistry);
+        this.retried = Counter.builder("orders.submissions.retried_batches").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("orders.submissions.batch_size")
+                .description("Submissions stored per insert transaction")
+                .register(meterRegistry);
+        this.persistLag = Timer.builder("orders.submissions.persist_lag")
+                .description("Time from acceptance to the order being committed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orders.submissions.queued", queued, AtomicInteger::get).register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (workerId < 0) {
+            throw new IllegalStateException("orders.submissions.worker-id must be set, distinct per instance (0-"
+                + SnowflakeIdGenerator.MAX_WORKER_ID + ")");
+        }
+        ids = new SnowflakeIdGenerator(workerId);
+        journal = new SubmissionJournal(Paths.get(journalDir), segmentRecords, fsync);
+        replayJournal();
+        
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            writers.add(Thread.ofPlatform().name("order-submission-writer-" + i).start(this::runWriter));
+        }
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (Thread writer : writers) {
+            writer.join(Duration.ofNanos(Math.max(1, deadline - System.nanoTime())));
+        }
+        journal.close();
+        if (queued.get() > 0) {
+            logger.info("{} order submissions left in the journal for the next start", queued.get());
+        }
+    }
+    
+    /**
+     * Journal an order and queue it for writing
+     * @param request validated order request
+     * @param userId owner of the order
+     * @return the queued submission
+     */
+    public OrderSubmissionDto submit(CreateOrderRequestDto request, Long userId) {
+        if (queued.get() >= maxQueued) {
+            rejected.increment();
+            throw new TaskRejectedException("Order submission queue is full");
+        }
+        // The database keeps microseconds; the journaled time must match the stored one exactly
+        JournalRecord record = new JournalRecord(ids.nextId(), userId, request.getProductName(),
+            request.getQuantity(), request.getPrice(), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        SubmissionJournal.Segment segment;
+        try {
+            segment = journal.append(objectMapper.writeValueAsBytes(record));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal order submission", e);
+        }
+        enqueue(new Submission(record, segment));
+        accepted.increment();
+        return new OrderSubmissionDto(record.submissionId(), OrderSubmissionDto.Status.QUEUED, null, null);
+    }
+    
+    /**
+     * Where a submission stands; other users' submissions are reported as not found
+     * Queued submissions are only known to the instance that accepted them.
+     */
+    public OrderSubmissionDto getSubmission(Long submissionId, Long userId) {
+        Submission pending = inFlight.get(submissionId);
+        if (pending != null && pending.record().userId() == userId) {
+            return new OrderSubmissionDto(submissionId, OrderSubmissionDto.Status.QUEUED, null, null);
+        }
+        Outcome outcome = recentOutcomes.get(submissionId);
+        if (outcome != null && outcome.userId() == userId) {
+            return new OrderSubmissionDto(submissionId, outcome.status(), outcome.orderId(), outcome.error());
+        }
+        return orderRepository.findFirstBySubmissionIdAndUserId(submissionId, userId)
+            .map(order -> new OrderSubmissionDto(submissionId, OrderSubmissionDto.Status.PERSISTED, order.getId(), null))
+            .orElseThrow(() -> new OrderNotFoundException("Submission not found with id: " + submissionId));
+    }
+    
+    private void enqueue(Submission submission) {
+        queued.incrementAndGet();
+        inFlight.put(submission.record().submissionId(), submission);
+        queue.add(submission);
+    }
+    
+    private void runWriter() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Submission first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Whatever queued up while the previous batch was being written goes into this one
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Order submission writer failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void write(List<Submission> batch) throws InterruptedException {
+        try {
+            persist(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // One bad record fails the whole batch; write them one by one to find it
+            for (Submission submission : batch) {
+                write(List.of(submission));
+            }
+        } catch (RuntimeException e) {
+            // Most likely the database is unavailable: keep everything queued and journaled.
+            // If the commit went through after all, the retry skips the stored submissions.
+            retried.increment();
+            logger.warn("Storing {} order submissions failed, retrying in {} ms: {}",
+                batch.size(), retryBackoffMs, e.getMessage());
+            Thread.sleep(retryBackoffMs);
+            queue.addAll(batch);
+        }
+    }
+    
+    private void persist(List<Submission> batch) {
+        List<Order> orders = new ArrayList<>(batch.size());
+        for (Submission submission : batch) {
+            JournalRecord record = submission.record();
+            Order order = new Order();
+            order.setSubmissionId(record.submissionId());
+            order.setUserId(record.userId());
+            order.setProductName(record.productName());
+            order.setQuantity(record.quantity());
+            order.setPrice(record.price());
+            order.setStatus(OrderStatus.PENDING);
+            order.setCreatedAt(record.acceptedAt());
+            orders.add(order);
+        }
+        orderService.insertOrders(orders);
+        batchSizes.record(batch.size());
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            Submission submission = batch.get(i);
+            Long orderId = orders.get(i).getId();
+            if (orderId == null) {
+                // Stored by an earlier attempt of this batch
+                JournalRecord record = submission.record();
+                orderId = orderRepository.findBySubmissionIdAndCreatedAtAndUserId(record.submissionId(),
+                        record.acceptedAt(), record.userId())
+                    .map(Order::getId)
+                    .orElse(null);
+            }
+            persistLag.record(Duration.between(submission.record().acceptedAt(), now));
+            finish(submission, new Outcome(submission.record().userId(), OrderSubmissionDto.Status.PERSISTED,
+                orderId, null));
+        }
+    }
+    
+    private void fail(Submission submission, DataIntegrityViolationException e) {
+        failed.increment();
+        // The journal entry goes away with this, so log enough to recreate the order by hand
+        logger.error("Order submission {} rejected by the database, dropping it: {} ({})",
+            submission.record().submissionId(), submission.record(), e.getMostSpecificCause().getMessage());
+        finish(submission, new Outcome(submission.record().userId(), OrderSubmissionDto.Status.FAILED,
+            null, "Order could not be stored"));
+    }
+    
+    private void finish(Submission submission, Outcome outcome) {
+        long submissionId = submission.record().submissionId();
+        recentOutcomes.put(submissionId, outcome);
+        inFlight.remove(submissionId);
+        queued.decrementAndGet();
+        journal.completed(submission.segment(), 1);
+    }
+    
+    /**
+     * Queue what the previous run journaled but may not have stored
+     */
+    private void replayJournal() throws IOException {
+        int replayed = 0;
+        int alreadyStored = 0;
+        for (SubmissionJournal.RecoveredSegment recovered : journal.recover()) {
+            List<Submission> submissions = new ArrayList<>();
+            for (String line : recovered.records()) {
+                try {
+                    submissions.add(new Submission(objectMapper.readValue(line, JournalRecord.class), recovered.segment()));
+                } catch (IOException e) {
+                    // A torn last line: the crash came before the submission was acknowledged
+                    logger.warn("Skipping unreadable journal record: {}", e.getMessage());
+                    journal.completed(recovered.segment(), 1);
+                }
+            }
+            for (int from = 0; from < submissions.size(); from += REPLAY_CHUNK) {
+                List<Submission> chunk = submissions.subList(from, Math.min(submissions.size(), from + REPLAY_CHUNK));
+                Set<SubmissionKey> stored = new HashSet<>();
+                for (Order order : orderRepository.findBySubmissionIdIn(
+                        chunk.stream().map(submission -> submission.record().submissionId()).toList())) {
+                    stored.add(new SubmissionKey(order.getSubmissionId(), order.getCreatedAt(), order.getUserId()));
+                }
+                for (Submission submission : chunk) {
+                    JournalRecord record = submission.record();
+                    if (stored.contains(new SubmissionKey(record.submissionId(), record.acceptedAt(), record.userId()))) {
+                        alreadyStored++;
+                        journal.completed(submission.segment(), 1);
+                    } else {
+                        replayed++;
+                        enqueue(submission);
+                    }
+                }
+            }
+        }
+        if (replayed + alreadyStored > 0) {
+            logger.info("Order submission journal: {} submissions queued again, {} were already stored",
+                replayed, alreadyStored);
+        }
+    }
+    
+    /**
+     * One journal line; userId is resolved at acceptance so replay needs no token
+     */
+    record JournalRecord(long submissionId, long userId, String productName, int quantity,
+                         Money price, LocalDateTime acceptedAt) {}
+    
+    private record Submission(JournalRecord record, SubmissionJournal.Segment segment) {}
+    
+    private record SubmissionKey(long submissionId, LocalDateTime acceptedAt, long userId) {}
+    
+    private record Outcome(long userId, OrderSubmissionDto.Status status, Long orderId, String error) {}
+}
@@ -0,0 +1,43 @@
+package com.oms.order.submission;
+
+import java.time.Instant;
+
+/**
+ * Time-ordered 63-bit IDs generated locally: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of worker ID and 12 bits of sequence (4096 IDs per millisecond per worker)
+ *
+ * Instances need distinct worker IDs. If the clock steps back, or a millisecond's sequence runs
+ * out, IDs carry on from the last timestamp used instead of waiting, so they never repeat.
+ */
+class SnowflakeIdGenerator {
+    
+    static final int MAX_WORKER_ID = 1023;
+    
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    
+    private final long workerId;
+    private long lastMillis = -1;
+    private long sequence;
+    
+    SnowflakeIdGenerator(int workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker ID must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+    }
+    
+    synchronized long nextId() {
+        long millis = System.currentTimeMillis() - EPOCH_MILLIS;
+        if (millis > lastMillis) {
+            lastMillis = millis;
+            sequence = 0;
+        } else if (++sequence > MAX_SEQUENCE) {
+            lastMillis++;
+            sequence = 0;
+        }
+        return (lastMillis << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+    }
+}
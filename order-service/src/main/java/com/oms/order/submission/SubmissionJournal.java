@@ -0,0 +1,227 @@
+package com.oms.order.submission;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Append-only local journal of accepted order submissions, one record per line
+ *
+ * Records go to the active segment file; a segment is closed once it holds the configured number
+ * of records, or as soon as everything in it has been persisted, and deleted when closed and fully
+ * persisted. What is left on disk after a crash is exactly what may still need writing.
+ *
+ * Appenders that arrive while a sync is running share the next one, so under load one fsync
+ * covers many submissions.
+ */
+class SubmissionJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionJournal.class);
+    
+    private static final String PREFIX = "submissions-";
+    private static final String SUFFIX = ".log";
+    
+    private final Path directory;
+    private final int maxRecordsPerSegment;
+    private final boolean fsync;
+    
+    private Segment active;
+    private long nextSegmentNumber;
+    
+    SubmissionJournal(Path directory, int maxRecordsPerSegment, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxRecordsPerSegment = maxRecordsPerSegment;
+        this.fsync = fsync;
+    }
+    
+    /**
+     * Segments left over from before a restart, oldest first; they take no new records
+     */
+    synchronized List<RecoveredSegment> recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(SubmissionJournal::segmentNumber));
+        
+        List<RecoveredSegment> recovered = new ArrayList<>();
+        for (Path file : files) {
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(file) + 1);
+            // Lenient decoding: a torn last line from a crash must not hide the records before it
+            List<String> lines = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.isBlank())
+                .toList();
+            Segment segment = new Segment(file, null);
+            segment.closed = true;
+            segment.pending = lines.size();
+            if (lines.isEmpty()) {
+                delete(segment);
+            } else {
+                recovered.add(new RecoveredSegment(segment, lines));
+            }
+        }
+        return recovered;
+    }
+    
+    /**
+     * Append one record and, if fsync is on, wait until it is on disk
+     * @return the segment holding the record, to be passed to {@link #completed} once persisted
+     */
+    Segment append(byte[] record) throws IOException {
+        Segment segment;
+        long end;
+        synchronized (this) {
+            if (active == null) {
+                active = openSegment();
+            }
+            segment = active;
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put((byte) '\n').flip();
+                while (buffer.hasRemaining()) {
+                    segment.channel.write(buffer);
+                }
+            } catch (IOException e) {
+                retire(segment);
+                throw e;
+            }
+            end = segment.channel.position();
+            segment.written = end;
+            segment.pending++;
+            if (++segment.records >= maxRecordsPerSegment) {
+                segment.closed = true;
+                active = null;
+            }
+        }
+        if (fsync) {
+            try {
+                segment.syncTo(end);
+            } catch (IOException e) {
+                synchronized (this) {
+                    retire(segment);
+                }
+                throw e;
+            }
+        }
+        return segment;
+    }
+    
+    /**
+     * Records of a segment have been persisted (or given up on)
+     */
+    synchronized void completed(Segment segment, int count) {
+        segment.pending -= count;
+        if (segment.pending > 0) {
+            return;
+        }
+        if (segment == active) {
+            // Idle and fully persisted: start a fresh file with the next record instead of growing this one
+            segment.closed = true;
+            active = null;
+        }
+        if (segment.closed) {
+            delete(segment);
+        }
+    }
+    
+    synchronized void close() {
+        if (active != null) {
+            closeChannel(active);
+            active = null;
+        }
+    }
+    
+    private Segment openSegment() throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, nextSegmentNumber++, SUFFIX));
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (fsync) {
+            // Make the new directory entry durable too, not just the file contents
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException e) {
+                logger.debug("Directory sync not supported for {}: {}", directory, e.getMessage());
+            }
+        }
+        return new Segment(file, channel);
+    }
+    
+    /**
+     * Stop appending to a segment after a write error; its records stay on disk for the next restart
+     */
+    private void retire(Segment segment) {
+        segment.closed = true;
+        if (active == segment) {
+            active = null;
+        }
+    }
+    
+    private void delete(Segment segment) {
+        closeChannel(segment);
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete journal segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+    
+    private static void closeChannel(Segment segment) {
+        if (segment.channel == null) {
+            return;
+        }
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close journal segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+    
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+    
+    /**
+     * One journal file; counters are guarded by the journal's lock
+     */
+    static final class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private final Object syncLock = new Object();
+        
+        private int records;
+        private int pending;
+        private boolean closed;
+        private volatile long written;
+        private long synced;
+        
+        private Segment(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+        
+        private void syncTo(long position) throws IOException {
+            synchronized (syncLock) {
+                if (synced >= position) {
+                    // Someone else's fsync already covered this record
+                    return;
+                }
+                long target = written;
+                channel.force(false);
+                synced = target;
+            }
+        }
+    }
+    
+    record RecoveredSegment(Segment segment, List<String> records) {}
+}
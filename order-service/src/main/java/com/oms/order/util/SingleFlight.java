@@ -0,0 +1,92 @@
+package com.oms.order.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: the first caller for a key makes the call, callers arriving
+ * while it is in flight wait for and share its result (or exception)
+ *
+ * Nothing is cached; the key is released as soon as the call completes. A waiter that gives up after
+ * the timeout makes the call itself rather than failing, so a stuck leader only costs latency.
+ * Counted as single_flight.calls{name, outcome}: leader, coalesced, and timeout for the coalesced
+ * waiters that gave up.
+ */
+public final class SingleFlight<K, V> {
+    
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+    
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeoutNanos = timeout.toNanos();
+        this.leaders = counter(meterRegistry, name, "leader");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        this.timeouts = counter(meterRegistry, name, "timeout");
+    }
+    
+    /**
+     * Run the call for a key, or join the one already in flight
+     * @param key identity of the call; equal keys must mean interchangeable results
+     * @param call the outbound call
+     * @return the shared result
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, own);
+        if (leader == null) {
+            leaders.increment();
+            return lead(key, own, call);
+        }
+        coalesced.increment();
+        try {
+            return leader.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return call.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced call", e);
+        }
+    }
+    
+    private V lead(K key, CompletableFuture<V> own, Supplier<V> call) {
+        try {
+            V result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+    
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("single_flight.calls")
+                .description("Outbound calls by whether they were made or joined an identical one in flight")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
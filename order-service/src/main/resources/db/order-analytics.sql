@@ -0,0 +1,21 @@
+-- Rollup tables for order analytics (created by Hibernate when ddl-auto is update)
+-- For environments that manage the schema themselves (prod profile: ddl-auto none):
+--   psql -h localhost -p 5434 -U postgres -d orderdb -f order-analytics.sql
+
+CREATE TABLE IF NOT EXISTS order_rollups (
+    granularity        VARCHAR(8)    NOT NULL,
+    bucket_start       TIMESTAMP(6)  NOT NULL,
+    product_name       VARCHAR(255)  NOT NULL,
+    status             VARCHAR(20)   NOT NULL,
+    order_count        BIGINT        NOT NULL,
+    quantity           BIGINT        NOT NULL,
+    total_amount_minor BIGINT        NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, product_name, status)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_offsets (
+    topic        VARCHAR(249)  NOT NULL,
+    partition_id INTEGER       NOT NULL,
+    next_offset  BIGINT        NOT NULL,
+    PRIMARY KEY (topic, partition_id)
+);
@@ -0,0 +1,20 @@
+-- Column and unique key for asynchronous order submission (created by Hibernate when ddl-auto is update)
+-- For environments that manage the schema themselves (prod profile: ddl-auto none):
+--   psql -h localhost -p 5434 -U postgres -d orderdb -f order-submissions.sql
+-- Adding a nullable column without a default only touches the catalog, not the rows.
+-- CONCURRENTLY builds without blocking writes; it can't run inside a transaction.
+-- The key must exist before the order service starts: every batch insert uses ON CONFLICT on it.
+-- Regular orders have no submission ID, and NULLs never conflict.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS submission_id BIGINT;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_orders_submission ON orders (submission_id, created_at);
+
+-- Replaced by uk_orders_submission
+DROP INDEX CONCURRENTLY IF EXISTS idx_orders_submission_id;
+
+-- On a partitioned orders table (db/orders-partitioning.sql) CONCURRENTLY is not allowed on the parent.
+-- Create the index on each partition concurrently first, then on the parent, which just attaches them
+-- (a unique index on a partitioned table has to include created_at, the partition key):
+--   CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS orders_p202501_submission ON orders_p202501 (submission_id, created_at);
+--   CREATE UNIQUE INDEX IF NOT EXISTS uk_orders_submission ON orders (submission_id, created_at);
@@ -0,0 +1,11 @@
+-- Index for the PENDING expiry job (created by Hibernate when ddl-auto is update)
+-- For environments that manage the schema themselves (prod profile: ddl-auto none):
+--   psql -h localhost -p 5434 -U postgres -d orderdb -f orders-expiry.sql
+-- CONCURRENTLY builds without blocking writes; it can't run inside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created ON orders (status, created_at);
+
+-- On a partitioned orders table (db/orders-partitioning.sql) CONCURRENTLY is not allowed on the parent.
+-- Create the index on each partition concurrently first, then on the parent, which just attaches them:
+--   CREATE INDEX CONCURRENTLY IF NOT EXISTS orders_p202501_status_created ON orders_p202501 (status, created_at);
+--   CREATE INDEX IF NOT EXISTS idx_orders_status_created ON orders (status, created_at);
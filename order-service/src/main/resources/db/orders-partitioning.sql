@@ -0,0 +1,75 @@
+-- One-off migration: convert orders into a table range-partitioned by created_at (monthly)
+-- Run once with the order service stopped:
+--   psql -h localhost -p 5434 -U postgres -d orderdb -f orders-partitioning.sql
+-- Afterwards set orders.partitioning.enabled=true so upcoming partitions are created ahead of time.
+--
+-- Notes:
+--  * PostgreSQL 15 does not allow identity columns on partitioned tables, so the id is
+--    backed by a plain sequence default (Hibernate IDENTITY only needs the DB to assign it).
+--    Hibernate creates orders.id as an identity column whose sequence is already called
+--    orders_id_seq; the identity is dropped first, which frees the name for the new sequence.
+--  * The primary key of a partitioned table must include the partition key, hence (id, created_at).
+--  * Index names are per schema, so the old table's indexes are dropped before the new ones are made.
+
+BEGIN;
+
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS submission_id BIGINT;
+
+ALTER TABLE orders RENAME TO orders_legacy;
+ALTER TABLE orders_legacy RENAME CONSTRAINT orders_pkey TO orders_legacy_pkey;
+-- Hibernate makes uk_orders_submission a constraint, the SQL scripts a plain unique index
+ALTER TABLE orders_legacy DROP CONSTRAINT IF EXISTS uk_orders_submission;
+DROP INDEX IF EXISTS idx_orders_user_id, idx_orders_status_created, idx_orders_submission_id, uk_orders_submission;
+
+-- Still present if the old id was a serial column; it is re-owned by the new table below
+CREATE SEQUENCE IF NOT EXISTS orders_id_seq;
+
+CREATE TABLE orders (
+    id           BIGINT        NOT NULL DEFAULT nextval('orders_id_seq'),
+    user_id      BIGINT        NOT NULL,
+    product_name VARCHAR(255)  NOT NULL,
+    quantity     INTEGER       NOT NULL,
+    price        NUMERIC(10,2) NOT NULL,
+    total_amount NUMERIC(10,2) NOT NULL,
+    status       VARCHAR(255)  NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6),
+    submission_id BIGINT,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+
+CREATE INDEX idx_orders_user_id ON orders (user_id);
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+CREATE UNIQUE INDEX uk_orders_submission ON orders (submission_id, created_at);
+
+-- Catches rows outside the pre-created monthly ranges
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+-- Monthly partitions covering existing data plus the next three months
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT min(created_at) FROM orders_legacy), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(month_start, 'YYYYMM'),
+                       month_start,
+                       (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO orders (id, user_id, product_name, quantity, price, total_amount, status, created_at, updated_at, submission_id)
+SELECT id, user_id, product_name, quantity, price, total_amount, status,
+       COALESCE(created_at, updated_at, now()), updated_at, submission_id
+FROM orders_legacy;
+
+SELECT setval('orders_id_seq', COALESCE((SELECT max(id) FROM orders), 0) + 1, false);
+
+DROP TABLE orders_legacy;
+
+COMMIT;